@@ -27,4 +27,6 @@ public class AccountConfiguration {
     public String amazonSite;
     @Nullable
     public Integer pollingIntervalInSeconds;
+    @Nullable
+    public Integer idlePollingIntervalInSeconds;
 }
@@ -11,7 +11,9 @@ package org.openhab.binding.amazonechocontrol.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.net.CookieManager;
 import java.net.CookieStore;
 import java.net.HttpCookie;
@@ -30,6 +32,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -65,6 +68,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
@@ -91,6 +95,22 @@ public class Connection {
 
     private final Gson gson = new Gson();
     private final Gson gsonWithNullSerialization;
+    private final Map<String, ParsedJson> parsedStates = new ConcurrentHashMap<>();
+
+    /**
+     * Result of a polled state request, kept to skip parsing if the same response is received again
+     */
+    private static class ParsedJson {
+        private final int hash;
+        private final String json;
+        private final Object result;
+
+        private ParsedJson(String json, Object result) {
+            this.hash = json.hashCode();
+            this.json = json;
+            this.result = result;
+        }
+    }
 
     public Connection(@Nullable String email, @Nullable String password, @Nullable String amazonSite,
             @Nullable String accountThingId) {
@@ -265,16 +285,15 @@ public class Connection {
         if (input == null) {
             return "";
         }
-        Scanner inputScanner = new Scanner(input);
-        Scanner scannerWithoutDelimiter = inputScanner.useDelimiter("\\A");
-        String result = scannerWithoutDelimiter.hasNext() ? scannerWithoutDelimiter.next() : null;
-        inputScanner.close();
-        scannerWithoutDelimiter.close();
-        input.close();
-        if (result == null) {
-            result = "";
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            StringBuilder result = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                result.append(buffer, 0, read);
+            }
+            return result.toString();
         }
-        return result;
     }
 
     public String makeRequestAndReturnString(String url) throws IOException, URISyntaxException {
@@ -287,6 +306,50 @@ public class Connection {
         return convertStream(connection.getInputStream());
     }
 
+    // parses the response while it is received, without reading it into a string first
+    private <T> T makeRequestAndParseJson(String verb, String url, @Nullable String postData,
+            @Nullable Map<String, String> customHeaders, Class<T> type) throws IOException, URISyntaxException {
+        HttpsURLConnection connection = makeRequest(verb, url, postData, true, true, customHeaders);
+        try (InputStream input = connection.getInputStream()) {
+            T result = gson.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8), type);
+            skipRemaining(input);
+            return result;
+        } catch (JsonSyntaxException e) {
+            logger.warn("Parsing json from {} failed {}", url, e);
+            throw e;
+        } catch (JsonIOException e) {
+            throw new IOException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private void makeRequestAndIgnoreResponse(String verb, String url, @Nullable String postData)
+            throws IOException, URISyntaxException {
+        closeResponse(makeRequest(verb, url, postData, true, true, null));
+    }
+
+    // the connection is only kept alive for the next request if the whole response has been read
+    private void closeResponse(HttpsURLConnection connection) {
+        try (InputStream input = connection.getInputStream()) {
+            skipRemaining(input);
+        } catch (IOException e) {
+            InputStream error = connection.getErrorStream();
+            if (error != null) {
+                try (InputStream input = error) {
+                    skipRemaining(input);
+                } catch (IOException e2) {
+                    // the connection is not reused
+                }
+            }
+        }
+    }
+
+    private void skipRemaining(InputStream input) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (input.read(buffer) != -1) {
+            // skip
+        }
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders) throws IOException, URISyntaxException {
         String currentUrl = url;
@@ -314,8 +377,9 @@ public class Connection {
                 // add cookies
                 URI uri = connection.getURL().toURI();
 
+                CookieStore cookieStore = cookieManager.getCookieStore();
                 StringBuilder cookieHeaderBuilder = new StringBuilder();
-                for (HttpCookie cookie : cookieManager.getCookieStore().get(uri)) {
+                for (HttpCookie cookie : cookieStore.get(uri)) {
                     if (cookieHeaderBuilder.length() > 0) {
                         cookieHeaderBuilder.insert(0, "; ");
                     }
@@ -365,7 +429,7 @@ public class Connection {
                             for (String cookieHeader : header.getValue()) {
                                 List<HttpCookie> cookies = HttpCookie.parse(cookieHeader);
                                 for (HttpCookie cookie : cookies) {
-                                    cookieManager.getCookieStore().add(uri, cookie);
+                                    cookieStore.add(uri, cookie);
                                 }
                             }
                         }
@@ -392,6 +456,7 @@ public class Connection {
                     logger.debug("Redirected to {}", location);
                     currentUrl = location;
                     if (autoredirect) {
+                        closeResponse(connection);
                         continue;
                     }
                     return connection;
@@ -401,7 +466,9 @@ public class Connection {
                 throw e;
             }
             if (code != 200) {
-                throw new HttpException(code, verb + " url '" + url + "' failed: " + connection.getResponseMessage());
+                String message = connection.getResponseMessage();
+                closeResponse(connection);
+                throw new HttpException(code, verb + " url '" + url + "' failed: " + message);
             }
         }
         throw new ConnectionException("Too many redirects");
@@ -554,6 +621,7 @@ public class Connection {
 
     public void logout() {
         cookieManager.getCookieStore().removeAll();
+        parsedStates.clear();
         sessionId = null;
         loginTime = null;
         verifyTime = null;
@@ -570,11 +638,26 @@ public class Connection {
         }
     }
 
+    // parser for polled states, the parsed objects are shared and must not be modified
+    private <T> T parseStateJson(String url, String json, Class<T> type) throws JsonSyntaxException {
+        ParsedJson parsed = parsedStates.get(url);
+        if (parsed != null && parsed.hash == json.hashCode() && parsed.json.equals(json)
+                && type.isInstance(parsed.result)) {
+            return type.cast(parsed.result);
+        }
+        T result = parseJson(json, type);
+        if (result != null) {
+            parsedStates.put(url, new ParsedJson(json, result));
+        }
+        return result;
+    }
+
     // commands and states
 
     public List<Device> getDeviceList() throws IOException, URISyntaxException {
         String json = getDeviceListJson();
-        JsonDevices devices = parseJson(json, JsonDevices.class);
+        JsonDevices devices = parseStateJson(alexaServer + "/api/devices-v2/device?cached=false", json,
+                JsonDevices.class);
         Device[] result = devices.devices;
         if (result == null) {
             return new ArrayList<>();
@@ -588,55 +671,58 @@ public class Connection {
     }
 
     public JsonPlayerState getPlayer(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/np/player?deviceSerialNumber="
-                + device.serialNumber + "&deviceType=" + device.deviceType + "&screenWidth=1440");
-        JsonPlayerState playerState = parseJson(json, JsonPlayerState.class);
+        String url = alexaServer + "/api/np/player?deviceSerialNumber=" + device.serialNumber + "&deviceType="
+                + device.deviceType + "&screenWidth=1440";
+        String json = makeRequestAndReturnString(url);
+        JsonPlayerState playerState = parseStateJson(url, json, JsonPlayerState.class);
         return playerState;
     }
 
     public JsonMediaState getMediaState(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/media/state?deviceSerialNumber="
-                + device.serialNumber + "&deviceType=" + device.deviceType);
-        JsonMediaState mediaState = parseJson(json, JsonMediaState.class);
+        String url = alexaServer + "/api/media/state?deviceSerialNumber=" + device.serialNumber + "&deviceType="
+                + device.deviceType;
+        String json = makeRequestAndReturnString(url);
+        JsonMediaState mediaState = parseStateJson(url, json, JsonMediaState.class);
         return mediaState;
     }
 
     public JsonBluetoothStates getBluetoothConnectionStates() {
+        String url = alexaServer + "/api/bluetooth?cached=true";
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true");
+            json = makeRequestAndReturnString(url);
         } catch (IOException | URISyntaxException e) {
             logger.debug("failed to get bluetooth state: {}", e.getMessage());
             return new JsonBluetoothStates();
         }
-        JsonBluetoothStates bluetoothStates = parseJson(json, JsonBluetoothStates.class);
+        JsonBluetoothStates bluetoothStates = parseStateJson(url, json, JsonBluetoothStates.class);
         return bluetoothStates;
     }
 
     public JsonPlaylists getPlaylists(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        JsonPlaylists playlists = makeRequestAndParseJson("GET",
                 alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber=" + device.serialNumber + "&deviceType="
-                        + device.deviceType + "&mediaOwnerCustomerId=" + device.deviceOwnerCustomerId);
-        JsonPlaylists playlists = parseJson(json, JsonPlaylists.class);
+                        + device.deviceType + "&mediaOwnerCustomerId=" + device.deviceOwnerCustomerId,
+                null, null, JsonPlaylists.class);
         return playlists;
     }
 
     public void command(Device device, String command) throws IOException, URISyntaxException {
         String url = alexaServer + "/api/np/command?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                 + device.deviceType;
-        makeRequest("POST", url, command, true, true, null);
+        makeRequestAndIgnoreResponse("POST", url, command);
     }
 
     public void bluetooth(Device device, @Nullable String address) throws IOException, URISyntaxException {
         if (StringUtils.isEmpty(address)) {
             // disconnect
-            makeRequest("POST",
-                    alexaServer + "/api/bluetooth/disconnect-sink/" + device.deviceType + "/" + device.serialNumber, "",
-                    true, true, null);
+            makeRequestAndIgnoreResponse("POST",
+                    alexaServer + "/api/bluetooth/disconnect-sink/" + device.deviceType + "/" + device.serialNumber,
+                    "");
         } else {
-            makeRequest("POST",
+            makeRequestAndIgnoreResponse("POST",
                     alexaServer + "/api/bluetooth/pair-sink/" + device.deviceType + "/" + device.serialNumber,
-                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}", true, true, null);
+                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}");
         }
     }
 
@@ -644,11 +730,11 @@ public class Connection {
         if (StringUtils.isEmpty(stationId)) {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
-            makeRequest("POST",
+            makeRequestAndIgnoreResponse("POST",
                     alexaServer + "/api/tunein/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&guideId=" + stationId
                             + "&contentType=station&callSign=&mediaOwnerCustomerId=" + device.deviceOwnerCustomerId,
-                    "", true, true, null);
+                    "");
         }
     }
 
@@ -657,11 +743,11 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"trackId\":\"" + trackId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndIgnoreResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + device.deviceOwnerCustomerId + "&shuffle=false",
-                    command, true, true, null);
+                    command);
         }
     }
 
@@ -671,11 +757,11 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"playlistId\":\"" + playListId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndIgnoreResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + device.deviceOwnerCustomerId + "&shuffle=false",
-                    command, true, true, null);
+                    command);
         }
     }
 
@@ -724,7 +810,7 @@ public class Connection {
         request.sequenceJson = gson.toJson(sequenceJson);
         String json = gson.toJson(request);
 
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", json, true, true, null);
+        makeRequestAndIgnoreResponse("POST", alexaServer + "/api/behaviors/preview", json);
     }
 
     public void startRoutine(Device device, String utterance) throws IOException, URISyntaxException {
@@ -785,21 +871,21 @@ public class Connection {
             request.sequenceJson = sequenceJson;
 
             String requestJson = gson.toJson(request);
-            makeRequest("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null);
+            makeRequestAndIgnoreResponse("POST", alexaServer + "/api/behaviors/preview", requestJson);
         } else {
             logger.warn("Routine {} not found", utterance);
         }
     }
 
     public JsonAutomation[] getRoutines() throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/behaviors/automations");
-        JsonAutomation[] result = parseJson(json, JsonAutomation[].class);
+        JsonAutomation[] result = makeRequestAndParseJson("GET", alexaServer + "/api/behaviors/automations", null, null,
+                JsonAutomation[].class);
         return result;
     }
 
     public JsonFeed[] getEnabledFlashBriefings() throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/content-skills/enabled-feeds");
-        JsonEnabledFeeds result = parseJson(json, JsonEnabledFeeds.class);
+        JsonEnabledFeeds result = makeRequestAndParseJson("GET", alexaServer + "/api/content-skills/enabled-feeds",
+                null, null, JsonEnabledFeeds.class);
         JsonFeed[] enabledFeeds = result.enabledFeeds;
         if (enabledFeeds != null) {
             return enabledFeeds;
@@ -811,14 +897,14 @@ public class Connection {
         JsonEnabledFeeds enabled = new JsonEnabledFeeds();
         enabled.enabledFeeds = enabledFlashBriefing;
         String json = gsonWithNullSerialization.toJson(enabled);
-        makeRequest("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null);
+        makeRequestAndIgnoreResponse("POST", alexaServer + "/api/content-skills/enabled-feeds", json);
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        JsonNotificationSounds result = makeRequestAndParseJson("GET",
                 alexaServer + "/api/notification/sounds?deviceSerialNumber=" + device.serialNumber + "&deviceType="
-                        + device.deviceType + "&softwareVersion=" + device.softwareVersion);
-        JsonNotificationSounds result = parseJson(json, JsonNotificationSounds.class);
+                        + device.deviceType + "&softwareVersion=" + device.softwareVersion,
+                null, null, JsonNotificationSounds.class);
         JsonNotificationSound[] notificationSounds = result.notificationSounds;
         if (notificationSounds != null) {
             return notificationSounds;
@@ -848,39 +934,37 @@ public class Connection {
         request.id = "create" + type;
 
         String data = gsonWithNullSerialization.toJson(request);
-        String response = makeRequestAndReturnString("PUT", alexaServer + "/api/notifications/createReminder", data,
-                true, null);
-        JsonNotificationResponse result = parseJson(response, JsonNotificationResponse.class);
+        JsonNotificationResponse result = makeRequestAndParseJson("PUT",
+                alexaServer + "/api/notifications/createReminder", data, null, JsonNotificationResponse.class);
         return result;
     }
 
     public void stopNotification(JsonNotificationResponse notification) throws IOException, URISyntaxException {
-        makeRequestAndReturnString("DELETE", alexaServer + "/api/notifications/" + notification.id, null, true, null);
+        makeRequestAndIgnoreResponse("DELETE", alexaServer + "/api/notifications/" + notification.id, null);
     }
 
     public JsonNotificationResponse getNotificationState(JsonNotificationResponse notification)
             throws IOException, URISyntaxException {
-        String response = makeRequestAndReturnString("GET", alexaServer + "/api/notifications/" + notification.id, null,
-                true, null);
-        JsonNotificationResponse result = parseJson(response, JsonNotificationResponse.class);
+        JsonNotificationResponse result = makeRequestAndParseJson("GET",
+                alexaServer + "/api/notifications/" + notification.id, null, null, JsonNotificationResponse.class);
         return result;
     }
 
     public List<JsonMusicProvider> getMusicProviders() {
-        String response;
+        JsonMusicProvider[] result;
         try {
             Map<String, String> headers = new HashMap<String, String>();
             headers.put("Routines-Version", "1.1.201102");
-            response = makeRequestAndReturnString("GET",
-                    alexaServer + "/api/behaviors/entities?skillId=amzn1.ask.1p.music", null, true, headers);
+            result = makeRequestAndParseJson("GET", alexaServer + "/api/behaviors/entities?skillId=amzn1.ask.1p.music",
+                    null, headers, JsonMusicProvider[].class);
         } catch (IOException | URISyntaxException e) {
             logger.warn("getMusicProviders fails: {}", e.getMessage());
             return new ArrayList<>();
         }
-        if (StringUtils.isEmpty(response)) {
+        // an empty response is parsed to null
+        if (result == null) {
             return new ArrayList<>();
         }
-        JsonMusicProvider[] result = parseJson(response, JsonMusicProvider[].class);
         return Arrays.asList(result);
     }
 
@@ -901,11 +985,12 @@ public class Connection {
 
         String postDataValidate = postValidataionJson.toString();
 
-        String validateResultJson = makeRequestAndReturnString("POST",
-                alexaServer + "/api/behaviors/operation/validate", postDataValidate, true, null);
+        JsonPlayValidationResult validationResult = makeRequestAndParseJson("POST",
+                alexaServer + "/api/behaviors/operation/validate", postDataValidate, null,
+                JsonPlayValidationResult.class);
 
-        if (StringUtils.isNotEmpty(validateResultJson)) {
-            JsonPlayValidationResult validationResult = parseJson(validateResultJson, JsonPlayValidationResult.class);
+        // an empty response is parsed to null
+        if (validationResult != null) {
             JsonPlaySearchPhraseOperationPayload validatedOperationPayload = validationResult.operationPayload;
             if (validatedOperationPayload != null) {
                 payload.sanitizedSearchPhrase = validatedOperationPayload.sanitizedSearchPhrase;
@@ -930,6 +1015,6 @@ public class Connection {
         startRoutineRequest.status = null;
 
         String postData = gson.toJson(startRoutineRequest);
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null);
+        makeRequestAndIgnoreResponse("POST", alexaServer + "/api/behaviors/preview", postData);
     }
 }
@@ -17,7 +17,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -59,6 +63,10 @@ import com.google.gson.JsonSyntaxException;
 public class AccountHandler extends BaseBridgeHandler {
 
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+
+    // maximum number of devices which are polled at the same time
+    private static final int MAX_PARALLEL_DEVICE_UPDATES = 4;
+
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
     private final Set<EchoHandler> echoHandlers = new HashSet<>();
@@ -71,6 +79,8 @@ public class AccountHandler extends BaseBridgeHandler {
     private final HttpService httpService;
     private @Nullable AccountServlet accountServlet;
     private final Gson gson = new Gson();
+    private long pollingIntervalInMillis;
+    private long idlePollingIntervalInMillis;
 
     public AccountHandler(Bridge bridge, HttpService httpService, Storage<String> stateStorage) {
         super(bridge);
@@ -108,6 +118,12 @@ public class AccountHandler extends BaseBridgeHandler {
                     "Polling interval less than 10 seconds not allowed");
             return;
         }
+        Integer idlePollingIntervalInSeconds = config.idlePollingIntervalInSeconds;
+        if (idlePollingIntervalInSeconds == null || idlePollingIntervalInSeconds < pollingIntervalInSeconds) {
+            idlePollingIntervalInSeconds = pollingIntervalInSeconds;
+        }
+        pollingIntervalInMillis = TimeUnit.SECONDS.toMillis(pollingIntervalInSeconds);
+        idlePollingIntervalInMillis = TimeUnit.SECONDS.toMillis(idlePollingIntervalInSeconds);
         synchronized (synchronizeConnection) {
             Connection connection = this.connection;
             if (connection == null || !connection.getEmail().equals(email) || !connection.getPassword().equals(password)
@@ -131,7 +147,7 @@ public class AccountHandler extends BaseBridgeHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.trace("Command '{}' received for channel '{}'", command, channelUID);
         if (command instanceof RefreshType) {
-            refreshData();
+            refreshData(true);
         }
     }
 
@@ -367,6 +383,10 @@ public class AccountHandler extends BaseBridgeHandler {
     }
 
     private void refreshData() {
+        refreshData(false);
+    }
+
+    private void refreshData(boolean updateAllEchoHandlers) {
         try {
             logger.debug("refreshing data {}", getThing().getUID().getAsString());
 
@@ -384,8 +404,8 @@ public class AccountHandler extends BaseBridgeHandler {
                 return;
             }
 
-            // get all devices registered in the account
-            updateDeviceList();
+            // get all devices registered in the account, the states of the devices are updated below
+            updateDeviceList(false);
             updateFlashBriefingHandlers();
 
             // update bluetooth states
@@ -394,15 +414,17 @@ public class AccountHandler extends BaseBridgeHandler {
                 states = currentConnection.getBluetoothConnectionStates();
             }
 
-            // forward device information to echo handler
-            for (EchoHandler child : echoHandlers) {
-                Device device = findDeviceJson(child);
-                BluetoothState state = null;
-                if (states != null) {
-                    state = states.findStateByDevice(device);
+            // forward device information to echo handler, devices which are not playing are polled less often
+            List<EchoHandler> dueEchoHandlers = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            synchronized (echoHandlers) {
+                for (EchoHandler child : echoHandlers) {
+                    if (updateAllEchoHandlers || isStateUpdateDue(child, now)) {
+                        dueEchoHandlers.add(child);
+                    }
                 }
-                child.updateState(device, state);
             }
+            updateEchoHandlerStates(dueEchoHandlers, states);
 
             // update account state
             updateStatus(ThingStatus.ONLINE);
@@ -415,6 +437,63 @@ public class AccountHandler extends BaseBridgeHandler {
         }
     }
 
+    private boolean isStateUpdateDue(EchoHandler echoHandler, long now) {
+        if (echoHandler.isPlaying()) {
+            return true;
+        }
+        // allow half a polling interval of tolerance, otherwise a delayed refresh would skip a whole interval
+        return now - echoHandler.getLastStateUpdate() >= idlePollingIntervalInMillis - pollingIntervalInMillis / 2;
+    }
+
+    /**
+     * Polls the states of the given echo handlers, up to {@link #MAX_PARALLEL_DEVICE_UPDATES} devices at the same
+     * time. The calling thread polls as well, so all devices are polled even if the scheduler has no free thread.
+     */
+    private void updateEchoHandlerStates(List<EchoHandler> echoHandlers, @Nullable JsonBluetoothStates states) {
+        Queue<EchoHandler> queue = new ConcurrentLinkedQueue<>(echoHandlers);
+        Runnable worker = () -> {
+            EchoHandler child;
+            while ((child = queue.poll()) != null) {
+                updateEchoHandlerState(child, states);
+            }
+        };
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < Math.min(echoHandlers.size(), MAX_PARALLEL_DEVICE_UPDATES); i++) {
+            helpers.add(scheduler.submit(worker));
+        }
+        worker.run();
+        for (Future<?> helper : helpers) {
+            // helpers which have not been started yet have nothing to do anymore
+            if (!helper.cancel(false)) {
+                try {
+                    helper.get();
+                } catch (ExecutionException e) {
+                    logger.debug("update state fails {}", e);
+                } catch (InterruptedException e) {
+                    queue.clear();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void updateEchoHandlerState(EchoHandler echoHandler, @Nullable JsonBluetoothStates states) {
+        try {
+            Device device = findDeviceJson(echoHandler);
+            BluetoothState state = null;
+            if (states != null) {
+                state = states.findStateByDevice(device);
+            }
+            echoHandler.updateState(device, state);
+        } catch (HttpException | JsonSyntaxException | ConnectionException e) {
+            logger.debug("update state of {} fails {}", echoHandler.getThing().getUID().getAsString(), e);
+        } catch (RuntimeException e) { // this handler can be removed later, if we know that nothing else can fail.
+            logger.error("update state of {} fails with unexpected error {}",
+                    echoHandler.getThing().getUID().getAsString(), e);
+        }
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
@@ -447,7 +526,10 @@ public class AccountHandler extends BaseBridgeHandler {
     }
 
     public List<Device> updateDeviceList() {
+        return updateDeviceList(true);
+    }
 
+    private List<Device> updateDeviceList(boolean updateEchoHandlerStates) {
         Connection currentConnection = connection;
         if (currentConnection == null) {
             return new ArrayList<Device>();
@@ -473,7 +555,11 @@ public class AccountHandler extends BaseBridgeHandler {
         }
         synchronized (echoHandlers) {
             for (EchoHandler child : echoHandlers) {
-                initializeEchoHandler(child, currentConnection);
+                if (updateEchoHandlerStates) {
+                    initializeEchoHandler(child, currentConnection);
+                } else {
+                    intializeChildDevice(currentConnection, child);
+                }
             }
         }
         if (devices != null) {
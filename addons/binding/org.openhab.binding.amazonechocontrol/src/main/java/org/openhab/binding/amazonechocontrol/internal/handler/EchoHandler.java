@@ -71,7 +71,8 @@ public class EchoHandler extends BaseThingHandler {
     private @Nullable String lastKnownBluetoothMAC;
     private @Nullable String lastKnownAmazonMusicId;
     private String musicProviderId = "TUNEIN";
-    private boolean isPlaying = false;
+    private volatile boolean isPlaying = false;
+    private volatile long lastStateUpdate;
     private boolean isPaused = false;
     private int lastKnownVolume = 25;
     private @Nullable BluetoothState bluetoothState;
@@ -546,6 +547,20 @@ public class EchoHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * @return true if the device was playing at the last state update
+     */
+    public boolean isPlaying() {
+        return isPlaying;
+    }
+
+    /**
+     * @return time of the last state update in milliseconds, 0 if the state has not been updated yet
+     */
+    public long getLastStateUpdate() {
+        return lastStateUpdate;
+    }
+
     public void updateState(@Nullable Device device, @Nullable BluetoothState bluetoothState) {
         if (this.disableUpdate) {
             return;
@@ -561,6 +576,7 @@ public class EchoHandler extends BaseThingHandler {
         if (connection == null) {
             return;
         }
+        lastStateUpdate = System.currentTimeMillis();
 
         PlayerInfo playerInfo = null;
         Provider provider = null;
@@ -10,8 +10,10 @@ package org.openhab.binding.dsmr.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.IOUtils;
@@ -27,6 +29,11 @@ import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
 public final class TelegramReaderUtil {
     private static final String TELEGRAM_EXT = ".telegram";
 
+    /**
+     * Bytes as can be received from the serial port between telegrams, for example when the meter is (re)connected.
+     */
+    private static final byte[] LINE_NOISE = { 0, (byte) 0xFF, 'x', '\r', '\n', 0x7F, '\n' };
+
     private TelegramReaderUtil() {
         // Util class
     }
@@ -62,4 +69,49 @@ public final class TelegramReaderUtil {
                 p1Telegram.get().getTelegramState());
         return p1Telegram.get();
     }
+
+    /**
+     * Creates a recording of P1 data as it would be read from the serial port of a meter. Between the telegrams line
+     * noise is added and the CRC of a telegram can be made invalid.
+     *
+     * @param rounds number of times the given telegrams are added to the recording
+     * @param corruptEvery every nth telegram in the recording gets an invalid CRC, 0 to keep all telegrams valid
+     * @param telegramNames names of the telegram files to add to the recording
+     * @return The raw bytes of the recording
+     */
+    public static byte[] createRecording(int rounds, int corruptEvery, String... telegramNames) {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        int count = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            for (String telegramName : telegramNames) {
+                byte[] telegram = readRawTelegram(telegramName);
+
+                count++;
+                if (corruptEvery > 0 && count % corruptEvery == 0) {
+                    telegram = corruptCRC(telegram);
+                }
+                recording.write(LINE_NOISE, 0, LINE_NOISE.length);
+                recording.write(telegram, 0, telegram.length);
+            }
+        }
+        return recording.toByteArray();
+    }
+
+    /**
+     * Returns a copy of the telegram with a different CRC value. Telegrams without CRC are returned unchanged.
+     */
+    private static byte[] corruptCRC(byte[] telegram) {
+        byte[] corrupted = Arrays.copyOf(telegram, telegram.length);
+
+        for (int i = corrupted.length - 2; i >= 0; i--) {
+            if (corrupted[i] == '!') {
+                if (i + 1 < corrupted.length && corrupted[i + 1] != '\r') {
+                    corrupted[i + 1] = (byte) (corrupted[i + 1] == '0' ? '1' : '0');
+                }
+                break;
+            }
+        }
+        return corrupted;
+    }
 }
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.connector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connector that replays P1 data recorded from a meter. The recording is the raw byte stream as read from the serial
+ * port and can therefore also contain line noise, incomplete and corrupted telegrams.
+ * <p>
+ * The data is passed to the listener in blocks of the same size as the {@link DSMRBaseConnector} reads from the serial
+ * port. When replayed in real time every telegram is passed to the listener after the given telegram interval, like a
+ * meter would do. Otherwise the data is passed at maximum speed. This makes it possible to test and measure the
+ * parsing of P1 data without a real meter.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRFileConnector {
+
+    /**
+     * Size of the blocks the data is passed to the listener. Same as the buffer size of the {@link DSMRBaseConnector}.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Character a P1 telegram starts with.
+     */
+    private static final byte TELEGRAM_START = '/';
+
+    private final Logger logger = LoggerFactory.getLogger(DSMRFileConnector.class);
+
+    /**
+     * Buffer passed to the listener.
+     */
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+
+    /**
+     * The file with the recorded data.
+     */
+    private final Path file;
+
+    /**
+     * Time in nanoseconds between 2 telegrams or 0 to replay at maximum speed.
+     */
+    private final long telegramIntervalNanos;
+
+    /**
+     * Listener to send replayed data and errors to.
+     */
+    private final DSMRConnectorListener dsmrConnectorListener;
+
+    /**
+     * Keeps track of the open state of the connector.
+     */
+    private volatile boolean open;
+
+    /**
+     * Creates a new DSMR file connector.
+     *
+     * @param file the file with the recorded P1 data
+     * @param telegramIntervalMillis the time in milliseconds between 2 telegrams or 0 to replay at maximum speed
+     * @param dsmrConnectorListener The listener to send errors or replayed data to
+     */
+    public DSMRFileConnector(Path file, long telegramIntervalMillis, DSMRConnectorListener dsmrConnectorListener) {
+        this.file = file;
+        this.telegramIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, telegramIntervalMillis));
+        this.dsmrConnectorListener = dsmrConnectorListener;
+    }
+
+    /**
+     * Replays the recorded data. This method blocks until all data is replayed, the connector is closed or the
+     * thread is interrupted.
+     *
+     * @return the number of bytes passed to the listener
+     */
+    public long replay() {
+        byte[] data;
+
+        try {
+            data = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            logger.debug("File {} does not exist", file);
+            dsmrConnectorListener.handleErrorEvent(DSMRConnectorErrorEvent.DONT_EXISTS);
+            return 0;
+        } catch (IOException e) {
+            logger.debug("Exception on reading file {}", file, e);
+            dsmrConnectorListener.handleErrorEvent(DSMRConnectorErrorEvent.READ_ERROR);
+            return 0;
+        }
+        open = true;
+        try {
+            return replay(data);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            open = false;
+        }
+    }
+
+    private long replay(byte[] data) throws InterruptedException {
+        long replayed = 0;
+        long nextTelegramNanos = 0;
+        boolean firstTelegram = true;
+        int offset = 0;
+
+        while (open && offset < data.length) {
+            int end = telegramIntervalNanos > 0 ? nextTelegramStart(data, offset) : data.length;
+
+            if (telegramIntervalNanos > 0 && data[offset] == TELEGRAM_START) {
+                if (firstTelegram) {
+                    nextTelegramNanos = System.nanoTime();
+                    firstTelegram = false;
+                } else {
+                    long waitNanos = nextTelegramNanos - System.nanoTime();
+
+                    if (waitNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+                }
+                nextTelegramNanos += telegramIntervalNanos;
+            }
+            while (open && offset < end) {
+                int length = Math.min(BLOCK_SIZE, end - offset);
+
+                System.arraycopy(data, offset, buffer, 0, length);
+                dsmrConnectorListener.handleData(buffer, length);
+                offset += length;
+                replayed += length;
+            }
+        }
+        logger.trace("Replayed {} bytes from {}", replayed, file);
+        return replayed;
+    }
+
+    /**
+     * Returns the position of the start of the next telegram after the given offset. A telegram starts with a '/' at
+     * the beginning of a line.
+     *
+     * @param data the recorded data
+     * @param offset position to start searching after
+     * @return position of the next telegram or the length of the data if there is no next telegram
+     */
+    private static int nextTelegramStart(byte[] data, int offset) {
+        for (int i = offset + 1; i < data.length; i++) {
+            if (data[i] == TELEGRAM_START && (data[i - 1] == '\n' || data[i - 1] == '\r')) {
+                return i;
+            }
+        }
+        return data.length;
+    }
+
+    /**
+     * @return Returns true if the connector is replaying data
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Stops replaying data.
+     */
+    public void close() {
+        open = false;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.connector;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
+
+/**
+ * Test class for {@link DSMRFileConnector}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRFileConnectorTest {
+
+    private static final String TELEGRAM_NAME = "dsmr_50";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Listener passing the replayed data to the parser and keeping track of the received telegrams.
+     */
+    private static class ReplayListener implements DSMRConnectorListener {
+        private final List<TelegramState> telegramStates = new ArrayList<>();
+        private final P1TelegramParser parser = new P1TelegramParser(t -> telegramStates.add(t.getTelegramState()));
+        private DSMRConnectorErrorEvent errorEvent;
+
+        @Override
+        public void handleErrorEvent(DSMRConnectorErrorEvent portEvent) {
+            errorEvent = portEvent;
+        }
+
+        @Override
+        public void handleData(byte[] buffer, int length) {
+            parser.parseData(buffer, 0, length);
+        }
+    }
+
+    @Test
+    public void testReplayWithNoiseAndCRCErrors() throws IOException {
+        byte[] recording = TelegramReaderUtil.createRecording(3, 3, TELEGRAM_NAME);
+        Path file = folder.newFile().toPath();
+        Files.write(file, recording);
+        ReplayListener listener = new ReplayListener();
+
+        long replayed = new DSMRFileConnector(file, 0, listener).replay();
+
+        assertEquals("Expected all data to be replayed", recording.length, replayed);
+        assertNull("Expected no error event", listener.errorEvent);
+        assertArrayEquals("Expected the last telegram to fail the CRC check",
+                new TelegramState[] { TelegramState.OK, TelegramState.OK, TelegramState.CRC_ERROR },
+                listener.telegramStates.toArray());
+    }
+
+    @Test
+    public void testReplayRealTime() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, TelegramReaderUtil.createRecording(3, 0, TELEGRAM_NAME));
+        ReplayListener listener = new ReplayListener();
+
+        long start = System.nanoTime();
+        new DSMRFileConnector(file, 100, listener).replay();
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("Expected all telegrams to be received", 3, listener.telegramStates.size());
+        assertTrue("Expected the telegrams to be replayed with the telegram interval, took " + duration + " ms",
+                duration >= 200);
+    }
+
+    @Test
+    public void testReplayMissingFile() {
+        ReplayListener listener = new ReplayListener();
+
+        long replayed = new DSMRFileConnector(folder.getRoot().toPath().resolve("missing"), 0, listener).replay();
+
+        assertEquals("Expected no data to be replayed", 0, replayed);
+        assertSame("Expected file not to exist", DSMRConnectorErrorEvent.DONT_EXISTS, listener.errorEvent);
+    }
+}
@@ -8,11 +8,13 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -57,4 +59,43 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testParsingByteByByte() {
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        for (int i = 0; i < data.length; i++) {
+            parser.parseData(data, i, 1);
+        }
+        assertEquals("Expected one telegram", 1, telegrams.size());
+        assertEquals("Expected TelegramState should be as expected", TelegramState.OK,
+                telegrams.get(0).getTelegramState());
+        assertEquals("Expected number of objects", numberOfCosemObjects,
+                telegrams.get(0).getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
+    }
+
+    @Test
+    public void testCRCError() {
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        int crcStart = -1;
+
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == '!') {
+                crcStart = i + 1;
+            }
+        }
+        // Only DSMR V4 and up telegrams contain a CRC
+        Assume.assumeTrue(crcStart > 0 && crcStart + 4 <= data.length && data[crcStart] != '\r');
+        data[crcStart + 3] = (byte) (data[crcStart + 3] == '0' ? '1' : '0');
+
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        parser.parseData(data, 0, data.length);
+        assertFalse("Expected a telegram", telegrams.isEmpty());
+        assertEquals("Expected TelegramState should be CRC error", TelegramState.CRC_ERROR,
+                telegrams.get(0).getTelegramState());
+    }
 }
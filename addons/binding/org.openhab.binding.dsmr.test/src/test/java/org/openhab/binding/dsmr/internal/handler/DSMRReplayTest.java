@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.config.discovery.DiscoveryListener;
+import org.eclipse.smarthome.config.discovery.DiscoveryResult;
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.dsmr.internal.DSMRBindingConstants;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.DSMRTelegramListener;
+import org.openhab.binding.dsmr.internal.device.connector.DSMRFileConnector;
+import org.openhab.binding.dsmr.internal.discovery.DSMRMeterDiscoveryService;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays recorded P1 data through the {@link DSMRBridgeHandler}, the meter discovery and the {@link DSMRMeterHandler}s
+ * created from the discovered meters. Logs the throughput in telegrams per second and the bytes allocated per
+ * telegram.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRReplayTest {
+
+    private static final String TELEGRAM_NAME = "dsmr_50";
+    private static final int TELEGRAMS = 100;
+    private static final int CORRUPT_EVERY = 10;
+    private static final int REPLAYS = 20;
+    private static final int REFRESH = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(DSMRReplayTest.class);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ThingHandlerCallback callback = mock(ThingHandlerCallback.class, withSettings().stubOnly());
+    private final Bridge bridge = mock(Bridge.class, withSettings().stubOnly());
+    private final List<Thing> meterThings = new ArrayList<>();
+    private final List<DSMRMeterHandler> meterHandlers = new ArrayList<>();
+    private final AtomicLong states = new AtomicLong();
+
+    private DSMRBridgeHandler bridgeHandler;
+    private Path recording;
+
+    @Before
+    public void setUp() throws IOException {
+        recording = folder.newFile().toPath();
+        Files.write(recording, TelegramReaderUtil.createRecording(TELEGRAMS, CORRUPT_EVERY, TELEGRAM_NAME));
+
+        when(bridge.getUID()).thenReturn(new ThingUID(DSMRBindingConstants.THING_TYPE_DSMR_BRIDGE, "bridge"));
+        when(bridge.getThings()).thenReturn(meterThings);
+        doAnswer(invocation -> {
+            Thing thing = invocation.getArgument(0);
+
+            if (thing != bridge) {
+                thing.setStatusInfo(invocation.getArgument(1));
+            }
+            return null;
+        }).when(callback).statusUpdated(any(), any());
+        doAnswer(invocation -> states.incrementAndGet()).when(callback).stateUpdated(any(), any());
+
+        bridgeHandler = new DSMRBridgeHandler(bridge, mock(SerialPortManager.class));
+        bridgeHandler.setCallback(callback);
+    }
+
+    @After
+    public void tearDown() {
+        meterHandlers.forEach(DSMRMeterHandler::dispose);
+    }
+
+    @Test
+    public void testReplay() {
+        DSMRTelegramListener telegramListener = new DSMRTelegramListener(bridgeHandler);
+        DSMRFileConnector connector = new DSMRFileConnector(recording, 0, telegramListener);
+        AtomicLong telegrams = new AtomicLong();
+
+        discoverMeters(connector);
+        assertEquals("Expected the meters of the telegram to be discovered",
+                EnumSet.of(DSMRMeterType.DEVICE_V5, DSMRMeterType.ELECTRICITY_V5_0, DSMRMeterType.M3_V5_0),
+                getMeterTypes());
+
+        bridgeHandler.registerDSMRMeterListener(t -> telegrams.incrementAndGet());
+        long bytes = 0;
+        long allocatedStart = allocatedBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < REPLAYS; i++) {
+            bytes += connector.replay();
+        }
+        long duration = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedStart;
+
+        assertEquals("Expected all telegrams with a valid CRC to be received",
+                REPLAYS * (TELEGRAMS - TELEGRAMS / CORRUPT_EVERY), telegrams.get());
+        assertTrue("Expected states to be updated", states.get() > 0);
+        for (Thing meterThing : meterThings) {
+            assertSame("Expected meter to be online: " + meterThing.getUID(), ThingStatus.ONLINE,
+                    meterThing.getStatus());
+        }
+        logger.info("{} telegrams ({} bytes) in {} ms: {} telegrams/s, {} states updated", telegrams.get(), bytes,
+                duration / 1000000, telegrams.get() * 1000000000L / duration, states.get());
+        if (allocatedStart >= 0) {
+            logger.info("{} bytes allocated per telegram", allocated / telegrams.get());
+        }
+    }
+
+    /**
+     * Replays the recording once with the meter discovery active and creates and initializes a meter thing for every
+     * discovered meter, like the inbox would when the discovery results are approved.
+     */
+    private void discoverMeters(DSMRFileConnector connector) {
+        DSMRMeterDiscoveryService discoveryService = new DSMRMeterDiscoveryService(bridgeHandler);
+        Map<ThingUID, DiscoveryResult> discovered = new HashMap<>();
+        DiscoveryListener discoveryListener = mock(DiscoveryListener.class);
+
+        doAnswer(invocation -> {
+            DiscoveryResult result = invocation.getArgument(1);
+
+            discovered.put(result.getThingUID(), result);
+            return null;
+        }).when(discoveryListener).thingDiscovered(any(), any());
+        discoveryService.addDiscoveryListener(discoveryListener);
+        bridgeHandler.registerDSMRMeterListener(discoveryService);
+        connector.replay();
+        bridgeHandler.unregisterDSMRMeterListener(discoveryService);
+
+        for (DiscoveryResult result : discovered.values()) {
+            Configuration configuration = new Configuration(result.getProperties());
+
+            configuration.put("refresh", REFRESH);
+            Thing meterThing = ThingBuilder.create(result.getThingTypeUID(), result.getThingUID())
+                    .withBridge(bridge.getUID()).withConfiguration(configuration).build();
+            DSMRMeterHandler meterHandler = new DSMRMeterHandler(meterThing);
+
+            meterThing.setHandler(meterHandler);
+            meterHandler.setCallback(callback);
+            meterHandler.initialize();
+            meterThings.add(meterThing);
+            meterHandlers.add(meterHandler);
+        }
+    }
+
+    private Set<DSMRMeterType> getMeterTypes() {
+        Set<DSMRMeterType> meterTypes = new HashSet<>();
+
+        for (Thing meterThing : meterThings) {
+            meterTypes.add(DSMRMeterType.valueOf(meterThing.getThingTypeUID().getId().toUpperCase()));
+        }
+        return meterTypes;
+    }
+
+    /**
+     * @return bytes allocated by the current thread or -1 if the JVM doesn't support measuring it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        try {
+            Method method = threadMXBean.getClass().getMethod("getThreadAllocatedBytes", long.class);
+
+            method.setAccessible(true);
+            return (Long) method.invoke(threadMXBean, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.unit.MetricPrefix;
+import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterAggregator.CounterAggregation;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterAggregator.PowerAggregation;
+
+/**
+ * Test class for {@link DSMRMeterAggregator}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRMeterAggregatorTest {
+
+    private static final String POWER = "emeter_actual_delivery";
+    private static final String ENERGY = "emeter_delivery_tariff1";
+    private static final String TEXT = "meter_device_type";
+
+    @Test
+    public void testPowerAggregation() {
+        assertPower(PowerAggregation.LAST, "2.000");
+        assertPower(PowerAggregation.AVERAGE, "2.000");
+        assertPower(PowerAggregation.MINIMUM, "1.000");
+        assertPower(PowerAggregation.MAXIMUM, "3.000");
+    }
+
+    @Test
+    public void testCounterDelta() {
+        DSMRMeterAggregator aggregator = new DSMRMeterAggregator(PowerAggregation.LAST, CounterAggregation.DELTA,
+                BigDecimal.ZERO);
+
+        aggregator.add(ENERGY, energy("100.000"));
+        aggregator.add(ENERGY, energy("100.500"));
+        aggregator.add(TEXT, new StringType("003"));
+        Map<String, State> states = aggregator.flush();
+        assertValue("Expected increase within the first interval", "0.500", states.get(ENERGY));
+        assertEquals("Expected non numeric value to be passed", new StringType("003"), states.get(TEXT));
+
+        aggregator.add(ENERGY, energy("101.250"));
+        assertValue("Expected increase since the previous interval", "0.750", aggregator.flush().get(ENERGY));
+
+        aggregator.add(ENERGY, energy("5.000"));
+        assertValue("Expected no negative increase when counter is reset", "0", aggregator.flush().get(ENERGY));
+    }
+
+    @Test
+    public void testChangeThreshold() {
+        DSMRMeterAggregator aggregator = new DSMRMeterAggregator(PowerAggregation.LAST, CounterAggregation.TOTAL,
+                BigDecimal.TEN);
+
+        aggregator.add(POWER, power("1.000"));
+        assertValue("Expected first value to be passed", "1.000", aggregator.flush().get(POWER));
+
+        aggregator.add(POWER, power("1.050"));
+        assertTrue("Expected values to be collected", aggregator.hasValues());
+        assertTrue("Expected change below threshold to be suppressed", aggregator.flush().isEmpty());
+        assertFalse("Expected values to be cleared after flush", aggregator.hasValues());
+
+        aggregator.add(POWER, power("1.100"));
+        assertValue("Expected change above threshold to be passed", "1.100", aggregator.flush().get(POWER));
+
+        aggregator.reset();
+        aggregator.add(POWER, power("1.100"));
+        assertValue("Expected value to be passed after reset", "1.100", aggregator.flush().get(POWER));
+    }
+
+    @Test
+    public void testCounterDeltaWithChangeThreshold() {
+        DSMRMeterAggregator aggregator = new DSMRMeterAggregator(PowerAggregation.LAST, CounterAggregation.DELTA,
+                BigDecimal.TEN);
+
+        aggregator.add(ENERGY, energy("100.000"));
+        aggregator.add(ENERGY, energy("100.500"));
+        assertValue("Expected first increase to be passed", "0.500", aggregator.flush().get(ENERGY));
+
+        aggregator.add(ENERGY, energy("101.000"));
+        assertValue("Expected same increase to be passed", "0.500", aggregator.flush().get(ENERGY));
+
+        aggregator.add(ENERGY, energy("101.520"));
+        assertValue("Expected increase with a change below threshold to be passed", "0.520",
+                aggregator.flush().get(ENERGY));
+
+        aggregator.add(POWER, power("1.000"));
+        aggregator.flush();
+        aggregator.add(POWER, power("1.050"));
+        aggregator.add(ENERGY, energy("102.000"));
+        Map<String, State> states = aggregator.flush();
+        assertNull("Expected power change below threshold to be suppressed", states.get(POWER));
+        assertValue("Expected all consumption to be passed", "0.480", states.get(ENERGY));
+    }
+
+    private void assertPower(PowerAggregation powerAggregation, String expected) {
+        DSMRMeterAggregator aggregator = new DSMRMeterAggregator(powerAggregation, CounterAggregation.TOTAL,
+                BigDecimal.ZERO);
+
+        aggregator.add(POWER, power("1.000"));
+        aggregator.add(POWER, power("3.000"));
+        aggregator.add(POWER, power("2.000"));
+        assertValue("Expected aggregated value for " + powerAggregation, expected, aggregator.flush().get(POWER));
+    }
+
+    private static void assertValue(String message, String expected, State state) {
+        assertTrue(message + ", but was " + state, state instanceof QuantityType);
+        assertEquals(message + ", but was " + state, 0,
+                new BigDecimal(expected).compareTo(((QuantityType<?>) state).toBigDecimal()));
+    }
+
+    private static State power(String value) {
+        return new QuantityType<>(new BigDecimal(value), MetricPrefix.KILO(SmartHomeUnits.WATT));
+    }
+
+    private static State energy(String value) {
+        return new QuantityType<>(new BigDecimal(value), SmartHomeUnits.KILOWATT_HOUR);
+    }
+}
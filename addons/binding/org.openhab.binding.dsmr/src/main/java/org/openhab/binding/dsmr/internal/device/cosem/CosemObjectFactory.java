@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,6 +41,35 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList;
 
+    /**
+     * Initial capacity of the cache of received OBIS identifiers. Must be a power of 2.
+     */
+    private static final int OBIS_CACHE_INITIAL_CAPACITY = 64;
+
+    /**
+     * Cache of received OBIS identifiers with the packed OBIS identifier as key (open addressing).
+     * A meter only sends a small fixed set of OBIS identifiers, so after the first telegram every identifier is
+     * resolved from this cache without creating objects.
+     */
+    private long[] obisCacheKeys = new long[OBIS_CACHE_INITIAL_CAPACITY];
+    private ReceivedOBISIdentifier[] obisCacheValues = new ReceivedOBISIdentifier[OBIS_CACHE_INITIAL_CAPACITY];
+    private int obisCacheSize;
+
+    /**
+     * A received OBIS identifier and the Cosem Object type it is resolved to
+     */
+    private static class ReceivedOBISIdentifier {
+        final OBISIdentifier obisId;
+        final OBISIdentifier reducedObisId;
+        CosemObjectType type;
+
+        ReceivedOBISIdentifier(OBISIdentifier obisId, CosemObjectType type) {
+            this.obisId = obisId;
+            this.reducedObisId = obisId.getReducedOBISIdentifier();
+            this.type = type;
+        }
+    }
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -123,6 +153,138 @@ public class CosemObjectFactory {
         return cosemObject;
     }
 
+    /**
+     * Return Cosem Object from the raw bytes of the OBIS identifier and the values or null if the data couldn't be
+     * parsed correctly or no corresponding Cosem Object was found
+     *
+     * @param obisIdData buffer containing the OBIS message identifier
+     * @param obisIdLength length of the OBIS message identifier
+     * @param cosemValuesData buffer containing the Cosem values
+     * @param cosemValuesLength length of the Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(byte[] obisIdData, int obisIdLength, byte[] cosemValuesData,
+            int cosemValuesLength) {
+        long packedObisId = OBISIdentifier.pack(obisIdData, 0, obisIdLength);
+
+        if (packedObisId < 0) {
+            // Not a common OBIS identifier, use the string based parsing
+            return getCosemObject(new String(obisIdData, 0, obisIdLength, StandardCharsets.ISO_8859_1),
+                    new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1));
+        }
+        ReceivedOBISIdentifier received = getReceivedOBISIdentifier(packedObisId);
+        CosemObject cosemObject = null;
+
+        if (received.type != null) {
+            cosemObject = getCosemObjectInternal(received.type, received.obisId, cosemValuesData, cosemValuesLength);
+        } else {
+            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
+                if (obisMsgType.obisId.equalsWildCard(received.reducedObisId)) {
+                    cosemObject = getCosemObjectInternal(obisMsgType, received.obisId, cosemValuesData,
+                            cosemValuesLength);
+                    if (cosemObject != null) {
+                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}",
+                                received.reducedObisId, cosemObject);
+                        obisLookupTableDynamic.put(received.reducedObisId, obisMsgType);
+                        received.type = obisMsgType;
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (cosemObject == null) {
+            logger.debug("Received unknown Cosem Object(OBIS id: {})", received.obisId);
+        }
+
+        return cosemObject;
+    }
+
+    /**
+     * Returns the cached received OBIS identifier for the packed OBIS identifier. If the identifier is received
+     * for the first time, it is resolved and added to the cache.
+     *
+     * @param packedObisId the packed OBIS identifier
+     * @return the received OBIS identifier
+     */
+    private ReceivedOBISIdentifier getReceivedOBISIdentifier(long packedObisId) {
+        int mask = obisCacheKeys.length - 1;
+        int index = Long.hashCode(packedObisId * 0x9E3779B97F4A7C15L) & mask;
+
+        while (obisCacheValues[index] != null) {
+            if (obisCacheKeys[index] == packedObisId) {
+                return obisCacheValues[index];
+            }
+            index = (index + 1) & mask;
+        }
+        OBISIdentifier obisId = OBISIdentifier.unpack(packedObisId);
+        OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        CosemObjectType type = obisLookupTableFixed.get(reducedObisId);
+
+        if (type == null) {
+            type = obisLookupTableDynamic.get(reducedObisId);
+        }
+        ReceivedOBISIdentifier received = new ReceivedOBISIdentifier(obisId, type);
+
+        obisCacheKeys[index] = packedObisId;
+        obisCacheValues[index] = received;
+        obisCacheSize++;
+        if (obisCacheSize * 2 > obisCacheKeys.length) {
+            growObisCache();
+        }
+        return received;
+    }
+
+    /**
+     * Doubles the capacity of the cache of received OBIS identifiers
+     */
+    private void growObisCache() {
+        long[] oldKeys = obisCacheKeys;
+        ReceivedOBISIdentifier[] oldValues = obisCacheValues;
+        int mask = oldKeys.length * 2 - 1;
+
+        obisCacheKeys = new long[oldKeys.length * 2];
+        obisCacheValues = new ReceivedOBISIdentifier[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+
+                while (obisCacheValues[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                obisCacheKeys[index] = oldKeys[i];
+                obisCacheValues[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Constructs a CosemObject from the given type, OBISIdentifier and the raw values
+     *
+     * @param cosemObjectType the type of the CosemObject
+     * @param obisIdentifier the actual OBISIdentifier how this cosemObjectType is identified
+     * @param cosemValuesData buffer containing the values of the CosemObject
+     * @param cosemValuesLength length of the values
+     *
+     * @return a CosemObject or null if parsing failed
+     */
+    private CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
+            byte[] cosemValuesData, int cosemValuesLength) {
+        CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
+
+        try {
+            obj.parseCosemValues(cosemValuesData, 0, cosemValuesLength);
+
+            return obj;
+        } catch (ParseException pe) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType,
+                        new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1), pe);
+            }
+        }
+        return null;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
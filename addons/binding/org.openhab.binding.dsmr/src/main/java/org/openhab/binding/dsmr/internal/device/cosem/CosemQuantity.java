@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -61,6 +62,11 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
      */
     private final Unit<Q> unit;
 
+    /**
+     * Symbol of the unit, used to detect values in the expected unit without parsing the unit
+     */
+    private final String unitSymbol;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -79,6 +85,7 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
     public CosemQuantity(Unit<Q> unit, String channelId) {
         super(channelId);
         this.unit = unit;
+        this.unitSymbol = unit.toString();
     }
 
     /**
@@ -90,6 +97,11 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
      */
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
+        QuantityType<Q> fast = getStateValueInUnit(cosemValue);
+
+        if (fast != null) {
+            return fast;
+        }
         try {
             QuantityType<Q> qt = new QuantityType<Q>(prepare(cosemValue));
 
@@ -102,6 +114,42 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
         }
     }
 
+    /**
+     * Parses values that are given in the unit of this CosemQuantity without the overhead of unit parsing.
+     * For example 00123.456*kWh for a kilowatt hour value.
+     *
+     * @param cosemValue the value to parse
+     * @return {@link QuantityType} or null if the value is not in the expected format
+     */
+    private QuantityType<Q> getStateValueInUnit(String cosemValue) {
+        int numberEnd = 0;
+
+        while (numberEnd < cosemValue.length()
+                && (Character.isDigit(cosemValue.charAt(numberEnd)) || cosemValue.charAt(numberEnd) == '.')) {
+            numberEnd++;
+        }
+        if (numberEnd == 0 || numberEnd == cosemValue.length()) {
+            return null;
+        }
+        int unitStart = numberEnd;
+        char separator = cosemValue.charAt(unitStart);
+
+        if (separator == '*' || separator == '_') {
+            unitStart++;
+        }
+        int unitLength = cosemValue.length() - unitStart;
+
+        if ((unitLength == unitSymbol.length() && cosemValue.startsWith(unitSymbol, unitStart))
+                || (SIUnits.CUBIC_METRE.equals(unit) && unitLength == 2 && cosemValue.startsWith("m3", unitStart))) {
+            try {
+                return new QuantityType<>(new BigDecimal(cosemValue.substring(0, numberEnd)), unit);
+            } catch (NumberFormatException e) {
+                // Not a valid number, let the regular parsing report it
+            }
+        }
+        return null;
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
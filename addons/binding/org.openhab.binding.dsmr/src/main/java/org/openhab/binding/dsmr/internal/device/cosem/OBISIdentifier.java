@@ -30,6 +30,11 @@ public class OBISIdentifier {
      */
     private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
 
+    /**
+     * Flag in the packed representation of an OBIS ID marking an available optional group
+     */
+    private static final long PACKED_GROUP_PRESENT = 0x100;
+
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private Integer groupB;
@@ -95,6 +100,120 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Parses an OBIS ID (A-B:C.D.E.F) from raw bytes and packs the six groups into a single long value. This is the
+     * same syntax as accepted by {@link #OBISIdentifier(String)}, but without creating any objects. The packed value
+     * can be used as a lookup key and converted to an {@link OBISIdentifier} with {@link #unpack(long)}.
+     *
+     * @param data the buffer containing the OBIS ID
+     * @param offset the start of the OBIS ID in the buffer
+     * @param length the length of the OBIS ID
+     * @return the packed OBIS ID or -1 if the data is not a valid OBIS ID or has group values larger than 255
+     */
+    public static long pack(byte[] data, int offset, int length) {
+        final int end = offset + length;
+        long groupA = 0;
+        long groupB = -1;
+        long groupE = 0;
+        long groupF = -1;
+        int pos = offset;
+
+        long value = parseGroup(data, pos, end);
+        if (value < 0) {
+            return -1;
+        }
+        pos = nextGroup(data, pos, end);
+        if (pos < end && data[pos] == '-') {
+            groupA = value;
+            value = parseGroup(data, ++pos, end);
+            if (value < 0) {
+                return -1;
+            }
+            pos = nextGroup(data, pos, end);
+        }
+        if (pos < end && data[pos] == ':') {
+            groupB = value;
+            value = parseGroup(data, ++pos, end);
+            if (value < 0) {
+                return -1;
+            }
+            pos = nextGroup(data, pos, end);
+        }
+        if (pos >= end || data[pos] != '.') {
+            return -1;
+        }
+        long groupC = value;
+        long groupD = parseGroup(data, ++pos, end);
+        if (groupD < 0) {
+            return -1;
+        }
+        pos = nextGroup(data, pos, end);
+        // Optional group E, separated by a '.'
+        if (pos < end && data[pos] == '.') {
+            long e = parseGroup(data, pos + 1, end);
+            if (e >= 0) {
+                groupE = e;
+                pos = nextGroup(data, pos + 1, end);
+            }
+        }
+        // Optional group F, separated by any character
+        if (pos < end) {
+            groupF = parseGroup(data, pos + 1, end);
+            if (groupF < 0) {
+                return -1;
+            }
+            pos = nextGroup(data, pos + 1, end);
+        }
+        if (pos != end) {
+            return -1;
+        }
+        return groupA << 42 | (groupB < 0 ? 0 : (groupB | PACKED_GROUP_PRESENT)) << 33 | groupC << 25 | groupD << 17
+                | groupE << 9 | (groupF < 0 ? 0 : (groupF | PACKED_GROUP_PRESENT));
+    }
+
+    /**
+     * Creates the {@link OBISIdentifier} of an OBIS ID packed with {@link #pack(byte[], int, int)}.
+     *
+     * @param packed the packed OBIS ID
+     * @return the {@link OBISIdentifier}
+     */
+    public static OBISIdentifier unpack(long packed) {
+        long groupB = packed >> 33 & 0x1FF;
+        long groupF = packed & 0x1FF;
+
+        return new OBISIdentifier((int) (packed >> 42 & 0xFF),
+                (groupB & PACKED_GROUP_PRESENT) == 0 ? null : Integer.valueOf((int) (groupB & 0xFF)),
+                (int) (packed >> 25 & 0xFF), (int) (packed >> 17 & 0xFF), (int) (packed >> 9 & 0xFF),
+                (groupF & PACKED_GROUP_PRESENT) == 0 ? null : Integer.valueOf((int) (groupF & 0xFF)));
+    }
+
+    /**
+     * Parses the decimal group value starting at the given position.
+     *
+     * @return the value or -1 if there is no digit at the position or the value is larger than 255
+     */
+    private static long parseGroup(byte[] data, int pos, int end) {
+        int value = -1;
+        for (int i = pos; i < end && data[i] >= '0' && data[i] <= '9'; i++) {
+            value = (value < 0 ? 0 : value * 10) + (data[i] - '0');
+            if (value > 255) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the position of the first non digit character starting at the given position
+     */
+    private static int nextGroup(byte[] data, int pos, int end) {
+        int i = pos;
+        while (i < end && data[i] >= '0' && data[i] <= '9') {
+            i++;
+        }
+        return i;
+    }
+
     /**
      * @return the groupA
      */
@@ -10,8 +10,8 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -26,6 +26,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The parser works on the raw bytes. The CRC16 is calculated while the bytes are received and the OBIS identifiers
+ * and values are collected in reusable byte buffers. No strings are created for data that is not part of the result.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -55,21 +58,41 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Maximum length of an OBIS identifier (A-B:C.D.E*F)
+     */
+    private static final int MAX_OBIS_ID_LENGTH = 32;
+
+    /**
+     * Initial size of the cosem object values buffer, it grows if needed.
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int INITIAL_VALUES_BUFFER_SIZE = 256;
 
     /* internal state variables */
 
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private final byte[] obisId = new byte[MAX_OBIS_ID_LENGTH];
+
+    /**
+     * Number of bytes in the obisId buffer. Exceeds the buffer size if the received identifier was too long.
+     */
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[INITIAL_VALUES_BUFFER_SIZE];
+
+    /**
+     * Number of bytes in the cosem object values buffer.
+     */
+    private int cosemObjectValuesLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -79,7 +102,17 @@ public class P1TelegramParser {
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of crc characters read.
+     */
+    private int crcLength;
+
+    /**
+     * True if the crc value contains a character that is not a hexadecimal digit.
+     */
+    private boolean crcInvalid;
 
     /**
      * CRC calculation helper
@@ -151,7 +184,8 @@ public class P1TelegramParser {
             }
         }
         for (int i = offset; i < (offset + length); i++) {
-            char c = (char) data[i];
+            byte b = data[i];
+            char c = (char) (b & 0xFF);
 
             switch (state) {
                 case WAIT_FOR_START:
@@ -165,9 +199,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case CRLF:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // do nothing
-                    } else if (Character.isDigit(c)) {
+                    } else if (isDigit(c)) {
                         setState(State.DATA_OBIS_ID);
                     } else {
                         handleUnexpectedCharacter(c);
@@ -176,9 +210,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case DATA_OBIS_ID:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // ignore
-                    } else if (Character.isDigit(c) || c == ':' || c == '-' || c == '.' || c == '*') { // NOPMD
+                    } else if (isDigit(c) || c == ':' || c == '-' || c == '.' || c == '*') { // NOPMD
                         // do nothing
                     } else if (c == '(') {
                         setState(State.DATA_OBIS_VALUE);
@@ -208,9 +242,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case DATA_OBIS_VALUE_END:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // ignore
-                    } else if (Character.isDigit(c)) {
+                    } else if (isDigit(c)) {
                         setState(State.DATA_OBIS_ID);
                     } else if (c == '(') {
                         setState(State.DATA_OBIS_VALUE);
@@ -232,18 +266,17 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crc characters {}", telegramState, crcLength);
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcLength > 0) {
+                            if (crcLength == CRC_LENGTH && !crcInvalid) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -266,7 +299,7 @@ public class P1TelegramParser {
                     break;
             }
 
-            handleCharacter(c);
+            handleByte(b);
         }
         logger.trace("State after parsing: {}", state);
     }
@@ -290,38 +323,41 @@ public class P1TelegramParser {
     }
 
     /**
-     * Stores a single character
+     * Stores a single byte
      *
-     * @param c the character to process
+     * @param b the byte to process
      */
-    private void handleCharacter(char c) {
+    private void handleByte(byte b) {
         switch (state) {
             case WAIT_FOR_START:
                 // ignore the data
                 break;
             case HEADER:
-                crc.processByte((byte) c);
+                crc.processByte(b);
                 break;
             case CRLF:
-                crc.processByte((byte) c);
+                crc.processByte(b);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
-                crc.processByte((byte) c);
+                if (obisIdLength < MAX_OBIS_ID_LENGTH) {
+                    obisId[obisIdLength] = b;
+                }
+                obisIdLength++;
+                crc.processByte(b);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
+                appendCosemObjectValue(b);
+                crc.processByte(b);
                 break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
+                appendCosemObjectValue(b);
+                crc.processByte(b);
                 break;
             case CRC_VALUE:
-                if (c == '!') {
-                    crc.processByte((byte) c);
+                if (b == '!') {
+                    crc.processByte(b);
                 } else {
-                    crcValue.append(c);
+                    appendCrcCharacter(b);
                 }
                 // CRC data is not part of received data
                 break;
@@ -330,14 +366,58 @@ public class P1TelegramParser {
         }
     }
 
+    /**
+     * Appends a byte to the cosem object values buffer, the buffer is enlarged if needed
+     *
+     * @param b the byte to append
+     */
+    private void appendCosemObjectValue(byte b) {
+        if (cosemObjectValuesLength == cosemObjectValues.length) {
+            cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValues.length * 2);
+        }
+        cosemObjectValues[cosemObjectValuesLength++] = b;
+    }
+
+    /**
+     * Adds a character of the hexadecimal CRC-code to the crc value
+     *
+     * @param b the character to add
+     */
+    private void appendCrcCharacter(byte b) {
+        int digit;
+        if (b >= '0' && b <= '9') {
+            digit = b - '0';
+        } else if (b >= 'A' && b <= 'F') {
+            digit = b - 'A' + 10;
+        } else {
+            crcInvalid = true;
+            digit = 0;
+        }
+        crcValue = ((crcValue << 4) | digit) & 0xFFFF;
+        crcLength++;
+    }
+
+    /**
+     * Same as {@link Character#isWhitespace(char)} for single byte characters
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= 0x09 && c <= 0x0D) || (c >= 0x1C && c <= 0x1F);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcLength = 0;
+        crcInvalid = false;
         crc.initialize();
         cosemObjects.clear();
     }
@@ -349,18 +429,19 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+        if (obisIdLength > MAX_OBIS_ID_LENGTH) {
+            logger.debug("Received invalid OBIS identifier of {} characters", obisIdLength);
+        } else if (obisIdLength > 0) {
+            CosemObject cosemObject = factory.getCosemObject(obisId, obisIdLength, cosemObjectValues,
+                    cosemObjectValuesLength);
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -8,8 +8,8 @@
  */
 package org.openhab.binding.dsmr.internal.handler;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +30,7 @@ import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterAggregator;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterConfiguration;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
@@ -53,9 +54,9 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private @Nullable DSMRMeter meter;
 
     /**
-     * Last received cosem objects.
+     * Aggregates the cosem objects received within the refresh interval.
      */
-    private List<CosemObject> lastReceivedValues = Collections.emptyList();
+    private @Nullable DSMRMeterAggregator aggregator;
 
     /**
      * Reference to the meter watchdog
@@ -104,6 +105,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         DSMRMeterConfiguration meterConfig = getConfigAs(DSMRMeterConfiguration.class);
         DSMRMeterDescriptor meterDescriptor = new DSMRMeterDescriptor(meterType, meterConfig.channel);
         meter = new DSMRMeter(meterDescriptor);
+        aggregator = DSMRMeterAggregator.fromConfiguration(meterConfig);
 
         meterWatchdog = scheduler.scheduleWithFixedDelay(this::updateState, meterConfig.refresh, meterConfig.refresh,
                 TimeUnit.SECONDS);
@@ -119,30 +121,24 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     }
 
     /**
-     * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
-     * cleared after processing here so when it does contain values the next time this method is called and it contains
-     * values those are new values.
+     * Updates the state of all channels from the Cosem values received from the meter since the last update. The
+     * values are aggregated by the {@link DSMRMeterAggregator}, which is cleared after processing here, so when it
+     * contains values the next time this method is called those are new values.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
-        if (!lastReceivedValues.isEmpty()) {
-            for (CosemObject cosemObject : lastReceivedValues) {
-                String channel = cosemObject.getType().name().toLowerCase();
-
-                for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
-                    if (!entry.getKey().isEmpty()) {
-                        /* CosemObject has a specific sub channel */
-                        channel += "_" + entry.getKey();
-                    }
-                    State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
-                }
+        DSMRMeterAggregator localAggregator = aggregator;
+
+        if (localAggregator != null && localAggregator.hasValues()) {
+            Map<String, State> states = localAggregator.flush();
+
+            for (Entry<String, State> entry : states.entrySet()) {
+                logger.debug("Updating state for channel {} to value {}", entry.getKey(), entry.getValue());
+                updateState(entry.getKey(), entry.getValue());
             }
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
             }
-            lastReceivedValues = Collections.emptyList();
         }
     }
 
@@ -154,15 +150,16 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     @Override
     public void telegramReceived(P1Telegram telegram) {
-        lastReceivedValues = Collections.emptyList();
         DSMRMeter localMeter = meter;
+        DSMRMeterAggregator localAggregator = aggregator;
 
-        if (localMeter == null) {
+        if (localMeter == null || localAggregator == null) {
             return;
         }
         List<CosemObject> filteredValues = localMeter.filterMeterValues(telegram.getCosemObjects());
 
         if (filteredValues.isEmpty()) {
+            localAggregator.reset();
             if (getThing().getStatus() == ThingStatus.ONLINE) {
                 setDeviceOffline(ThingStatusDetail.COMMUNICATION_ERROR, "@text/error.thing.nodata");
             }
@@ -170,7 +167,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
             if (logger.isTraceEnabled()) {
                 logger.trace("Received {} objects for {}", filteredValues.size(), getThing().getThingTypeUID().getId());
             }
-            lastReceivedValues = filteredValues;
+            localAggregator.add(filteredValues);
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateState();
             }
@@ -195,6 +192,11 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      * @param details off line detailed message
      */
     private void setDeviceOffline(ThingStatusDetail status, @Nullable String details) {
+        DSMRMeterAggregator localAggregator = aggregator;
+
+        if (localAggregator != null) {
+            localAggregator.reset();
+        }
         updateStatus(ThingStatus.OFFLINE, status, details);
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
     }
@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.measure.Quantity;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.unit.SIUnits;
+import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+
+/**
+ * The {@link DSMRMeterAggregator} collects the values a meter receives within a refresh interval and reduces them to
+ * a single state per channel.
+ *
+ * Power values are aggregated as configured with {@link PowerAggregation}. Energy and volume values are meter counters
+ * and are passed as is or as the increase within the refresh interval as configured with {@link CounterAggregation}.
+ * All other values are passed as last received. When a change threshold is set numeric values are only passed when
+ * they changed at least the threshold percentage compared to the last passed value. The increase of a counter is
+ * always passed, as a suppressed increase would be lost for the consumption.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRMeterAggregator {
+
+    /**
+     * Aggregation of power values within a refresh interval.
+     */
+    public enum PowerAggregation {
+        LAST,
+        AVERAGE,
+        MINIMUM,
+        MAXIMUM
+    }
+
+    /**
+     * Aggregation of energy and volume counter values within a refresh interval.
+     */
+    public enum CounterAggregation {
+        TOTAL,
+        DELTA
+    }
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Values received within the current refresh interval, per channel id.
+     */
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+
+    /**
+     * Last counter value per channel id. Used to calculate the delta of the next refresh interval.
+     */
+    private final Map<String, BigDecimal> lastCounters = new HashMap<>();
+
+    /**
+     * Last passed numeric value per channel id. Used to check the change threshold.
+     */
+    private final Map<String, BigDecimal> lastValues = new HashMap<>();
+
+    private final PowerAggregation powerAggregation;
+    private final CounterAggregation counterAggregation;
+
+    /**
+     * Minimum change in percentage.
+     */
+    private final BigDecimal changeThreshold;
+
+    /**
+     * The values of a single channel within the current refresh interval.
+     */
+    private static class Window {
+        private @Nullable State last;
+        private @Nullable QuantityType<?> lastQuantity;
+        private BigDecimal first = BigDecimal.ZERO;
+        private BigDecimal minimum = BigDecimal.ZERO;
+        private BigDecimal maximum = BigDecimal.ZERO;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private int count;
+
+        void add(State state) {
+            last = state;
+            if (state instanceof QuantityType) {
+                QuantityType<?> quantity = (QuantityType<?>) state;
+                BigDecimal value = quantity.toBigDecimal();
+
+                if (lastQuantity == null) {
+                    first = minimum = maximum = sum = value;
+                } else {
+                    minimum = minimum.min(value);
+                    maximum = maximum.max(value);
+                    sum = sum.add(value);
+                }
+                lastQuantity = quantity;
+                count++;
+            } else {
+                lastQuantity = null;
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * Creates a new aggregator.
+     *
+     * @param powerAggregation how to aggregate power values
+     * @param counterAggregation how to aggregate energy and volume counter values
+     * @param changeThreshold minimum change in percentage for a numeric value to be passed, 0 to pass all values
+     */
+    public DSMRMeterAggregator(PowerAggregation powerAggregation, CounterAggregation counterAggregation,
+            BigDecimal changeThreshold) {
+        this.powerAggregation = powerAggregation;
+        this.counterAggregation = counterAggregation;
+        this.changeThreshold = changeThreshold;
+    }
+
+    /**
+     * Creates a new aggregator from the user configuration of the meter.
+     *
+     * @param meterConfig the meter configuration
+     * @return aggregator as configured, unknown or missing settings default to passing the last received value
+     */
+    public static DSMRMeterAggregator fromConfiguration(DSMRMeterConfiguration meterConfig) {
+        PowerAggregation powerAggregation = PowerAggregation.LAST;
+        CounterAggregation counterAggregation = CounterAggregation.TOTAL;
+
+        try {
+            if (meterConfig.powerAggregation != null) {
+                powerAggregation = PowerAggregation.valueOf(meterConfig.powerAggregation.toUpperCase(Locale.ROOT));
+            }
+            if (meterConfig.counterAggregation != null) {
+                counterAggregation = CounterAggregation
+                        .valueOf(meterConfig.counterAggregation.toUpperCase(Locale.ROOT));
+            }
+        } catch (IllegalArgumentException e) {
+            // Keep the defaults for unknown values
+        }
+        BigDecimal changeThreshold = meterConfig.changeThreshold == null
+                || meterConfig.changeThreshold.signum() < 0 ? BigDecimal.ZERO : meterConfig.changeThreshold;
+
+        return new DSMRMeterAggregator(powerAggregation, counterAggregation, changeThreshold);
+    }
+
+    /**
+     * Adds the values of the cosem objects received in a telegram.
+     *
+     * @param cosemObjects the cosem objects for this meter
+     */
+    public synchronized void add(List<CosemObject> cosemObjects) {
+        for (CosemObject cosemObject : cosemObjects) {
+            String channel = cosemObject.getType().name().toLowerCase();
+
+            for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
+                // CosemObject can have a specific sub channel
+                add(entry.getKey().isEmpty() ? channel : channel + '_' + entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Adds a received value of a channel.
+     *
+     * @param channel channel id
+     * @param state the received value
+     */
+    synchronized void add(String channel, State state) {
+        windows.computeIfAbsent(channel, c -> new Window()).add(state);
+    }
+
+    /**
+     * @return true if values were added since the last call to {@link #flush()}
+     */
+    public synchronized boolean hasValues() {
+        return !windows.isEmpty();
+    }
+
+    /**
+     * Returns the aggregated states of the values added since the last call and starts a new refresh interval.
+     *
+     * @return the states to update per channel id, in the order the channels were received
+     */
+    public synchronized Map<String, State> flush() {
+        Map<String, State> states = new LinkedHashMap<>();
+
+        for (Entry<String, Window> entry : windows.entrySet()) {
+            State state = aggregate(entry.getKey(), entry.getValue());
+
+            if (state != null && isChanged(entry.getKey(), state)) {
+                states.put(entry.getKey(), state);
+            }
+        }
+        windows.clear();
+        return states;
+    }
+
+    /**
+     * Forgets all received and passed values. Called when the meter goes offline, so the next values are passed in
+     * any case.
+     */
+    public synchronized void reset() {
+        windows.clear();
+        lastCounters.clear();
+        lastValues.clear();
+    }
+
+    private @Nullable State aggregate(String channel, Window window) {
+        QuantityType<?> quantity = window.lastQuantity;
+
+        if (quantity == null) {
+            return window.last;
+        }
+        if (quantity.getUnit().isCompatible(SmartHomeUnits.WATT)) {
+            switch (powerAggregation) {
+                case AVERAGE:
+                    return withValue(quantity, window.sum.divide(BigDecimal.valueOf(window.count),
+                            window.sum.scale(), RoundingMode.HALF_UP));
+                case MINIMUM:
+                    return withValue(quantity, window.minimum);
+                case MAXIMUM:
+                    return withValue(quantity, window.maximum);
+                default:
+                    return quantity;
+            }
+        }
+        if (counterAggregation == CounterAggregation.DELTA && isCounter(quantity)) {
+            BigDecimal counter = quantity.toBigDecimal();
+            BigDecimal previous = lastCounters.getOrDefault(channel, window.first);
+            BigDecimal delta = counter.subtract(previous);
+
+            lastCounters.put(channel, counter);
+            // A decreasing counter means the meter was replaced, start counting again
+            return withValue(quantity, delta.signum() < 0 ? BigDecimal.ZERO.setScale(counter.scale()) : delta);
+        }
+        return quantity;
+    }
+
+    /**
+     * Checks if the numeric value changed at least the threshold percentage since the last passed value. Counter
+     * increases are always passed, as the counter has already advanced.
+     */
+    private boolean isChanged(String channel, State state) {
+        BigDecimal value;
+
+        if (changeThreshold.signum() == 0) {
+            return true;
+        } else if (state instanceof QuantityType) {
+            QuantityType<?> quantity = (QuantityType<?>) state;
+
+            if (counterAggregation == CounterAggregation.DELTA && isCounter(quantity)) {
+                return true;
+            }
+            value = quantity.toBigDecimal();
+        } else if (state instanceof DecimalType) {
+            value = ((DecimalType) state).toBigDecimal();
+        } else {
+            return true;
+        }
+        BigDecimal previous = lastValues.get(channel);
+
+        if (previous != null) {
+            BigDecimal change = value.subtract(previous).abs();
+
+            if (change.signum() == 0
+                    || change.multiply(HUNDRED).compareTo(changeThreshold.multiply(previous.abs())) < 0) {
+                return false;
+            }
+        }
+        lastValues.put(channel, value);
+        return true;
+    }
+
+    private static boolean isCounter(QuantityType<?> quantity) {
+        return quantity.getUnit().isCompatible(SmartHomeUnits.KILOWATT_HOUR)
+                || quantity.getUnit().isCompatible(SIUnits.CUBIC_METRE);
+    }
+
+    private static <Q extends Quantity<Q>> QuantityType<Q> withValue(QuantityType<Q> quantity, BigDecimal value) {
+        return new QuantityType<>(value, quantity.getUnit());
+    }
+}
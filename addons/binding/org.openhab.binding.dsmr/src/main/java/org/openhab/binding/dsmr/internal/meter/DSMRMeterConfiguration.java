@@ -8,11 +8,14 @@
  */
 package org.openhab.binding.dsmr.internal.meter;
 
+import java.math.BigDecimal;
+
 /**
  * This class describes the configuration for a meter.
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Added refresh field
+ * @author Hilbrand Bouwkamp - Added aggregation fields
  */
 public class DSMRMeterConfiguration {
     /**
@@ -25,8 +28,25 @@ public class DSMRMeterConfiguration {
      */
     public int refresh;
 
+    /**
+     * How power values received within the refresh interval are aggregated: last, average, minimum or maximum.
+     */
+    public String powerAggregation;
+
+    /**
+     * How energy and volume counter values are passed: total or delta (increase within the refresh interval).
+     */
+    public String counterAggregation;
+
+    /**
+     * Minimum change in percentage of a numeric value to update the state.
+     */
+    public BigDecimal changeThreshold;
+
     @Override
     public String toString() {
-        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ")";
+        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ",powerAggregation="
+                + powerAggregation + ",counterAggregation=" + counterAggregation + ",changeThreshold="
+                + changeThreshold + ")";
     }
 }
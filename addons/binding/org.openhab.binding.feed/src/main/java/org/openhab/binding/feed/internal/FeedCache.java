@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.feed.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+
+/**
+ * The {@link FeedCache} downloads and parses feeds for all feed things. Feeds are cached by their URL, so things with
+ * the same URL share one download.
+ *
+ * A feed is downloaded again only if the cached feed is older than {@link FeedBindingConstants#MINIMUM_REFRESH_TIME}.
+ * The download is a conditional request with the ETag and last modification date of the cached feed, so an unchanged
+ * feed is not transferred again. A transferred feed is parsed only if its content differs from the cached feed. As long
+ * as the content doesn't change, the same {@link SyndFeed} instance is returned.
+ *
+ * @author agent - Initial contribution
+ */
+public class FeedCache {
+
+    private final Logger logger = LoggerFactory.getLogger(FeedCache.class);
+
+    /**
+     * Feeds which have not been requested for this time are removed from the cache.
+     */
+    private static final long MAX_UNUSED_TIME = TimeUnit.DAYS.toMillis(1);
+
+    private final Map<String, CachedFeed> feeds = new ConcurrentHashMap<>();
+
+    private static class CachedFeed {
+        private SyndFeed feed;
+        private byte[] contentHash;
+        private String eTag;
+        private String lastModified;
+        private long downloadTime;
+        private volatile long requestTime;
+
+        private CachedFeed(long requestTime) {
+            this.requestTime = requestTime;
+        }
+    }
+
+    /**
+     * Returns the feed with the given URL, downloading it if necessary.
+     *
+     * @param urlString URL of the feed
+     * @return the feed, the same instance as long as the content of the feed doesn't change
+     * @throws IOException if the feed can not be downloaded
+     * @throws FeedException if the content of the feed is not valid
+     * @throws IllegalArgumentException if the URL is null
+     */
+    public SyndFeed getFeed(String urlString) throws IOException, FeedException {
+        if (urlString == null) {
+            throw new IllegalArgumentException("Feed URL is null");
+        }
+        long now = System.currentTimeMillis();
+        removeUnusedFeeds(now);
+
+        CachedFeed cachedFeed = feeds.computeIfAbsent(urlString, url -> new CachedFeed(now));
+        cachedFeed.requestTime = now;
+
+        // Things with the same URL wait for a running download instead of downloading in parallel
+        synchronized (cachedFeed) {
+            if (cachedFeed.feed != null && now - cachedFeed.downloadTime < FeedBindingConstants.MINIMUM_REFRESH_TIME) {
+                logger.trace("Using cached feed {}", urlString);
+                return cachedFeed.feed;
+            }
+            download(urlString, cachedFeed);
+            cachedFeed.downloadTime = System.currentTimeMillis();
+            return cachedFeed.feed;
+        }
+    }
+
+    private void download(String urlString, CachedFeed cachedFeed) throws IOException, FeedException {
+        URL url = new URL(urlString);
+
+        URLConnection connection = url.openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        if (cachedFeed.feed != null) {
+            if (cachedFeed.eTag != null) {
+                connection.setRequestProperty("If-None-Match", cachedFeed.eTag);
+            }
+            if (cachedFeed.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cachedFeed.lastModified);
+            }
+        }
+
+        if (connection instanceof HttpURLConnection
+                && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            logger.debug("Feed {} is not modified", urlString);
+            return;
+        }
+
+        byte[] content;
+        try (InputStream in = "gzip".equals(connection.getContentEncoding())
+                ? new GZIPInputStream(connection.getInputStream())
+                : connection.getInputStream()) {
+            content = readFully(in);
+        }
+        String eTag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+
+        byte[] contentHash = hash(content);
+        if (cachedFeed.feed == null || !Arrays.equals(contentHash, cachedFeed.contentHash)) {
+            logger.debug("Parsing new content of feed {}", urlString);
+            SyndFeedInput input = new SyndFeedInput();
+            cachedFeed.feed = input.build(new InputStreamReader(new ByteArrayInputStream(content)));
+            cachedFeed.contentHash = contentHash;
+        } else {
+            logger.debug("Content of feed {} is not changed", urlString);
+        }
+        cachedFeed.eTag = eTag;
+        cachedFeed.lastModified = lastModified;
+    }
+
+    private void removeUnusedFeeds(long now) {
+        Iterator<CachedFeed> iterator = feeds.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().requestTime > MAX_UNUSED_TIME) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256, compare the whole content otherwise
+            return content;
+        }
+    }
+}
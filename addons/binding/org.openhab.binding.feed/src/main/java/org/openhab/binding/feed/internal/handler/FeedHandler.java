@@ -10,20 +10,17 @@ package org.openhab.binding.feed.internal.handler;
 
 import static org.openhab.binding.feed.internal.FeedBindingConstants.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPInputStream;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -38,13 +35,13 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.feed.internal.FeedCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.FeedException;
-import com.rometools.rome.io.SyndFeedInput;
 
 /**
  * The {@link FeedHandler } is responsible for handling commands, which are
@@ -61,14 +58,25 @@ public class FeedHandler extends BaseThingHandler {
     private ScheduledFuture<?> refreshTask;
     private SyndFeed currentFeedState;
     private long lastRefreshTime;
+    private final FeedCache feedCache;
 
-    public FeedHandler(Thing thing) {
+    /**
+     * States of the channels published for {@link #currentFeedState}
+     */
+    private final Map<String, State> publishedStates = new HashMap<>();
+
+    public FeedHandler(Thing thing, FeedCache feedCache) {
         super(thing);
+        this.feedCache = feedCache;
         currentFeedState = null;
     }
 
     @Override
     public void initialize() {
+        synchronized (this) {
+            currentFeedState = null;
+            publishedStates.clear();
+        }
         checkConfiguration();
         updateStatus(ThingStatus.UNKNOWN);
         startAutomaticRefresh();
@@ -110,55 +118,33 @@ public class FeedHandler extends BaseThingHandler {
         if (feedUpdated) {
             List<Channel> channels = getThing().getChannels();
             for (Channel channel : channels) {
-                publishChannelIfLinked(channel.getUID());
+                publishChannelIfChanged(channel.getUID());
+            }
+        }
+    }
+
+    /**
+     * Publishes the state of a channel only if it is different from the state published before. If a new entry is
+     * added to the feed, the states of the channels with information about the feed itself are usually unchanged.
+     */
+    private synchronized void publishChannelIfChanged(ChannelUID channelUID) {
+        String channelID = channelUID.getId();
+        if (currentFeedState != null && isLinked(channelID)) {
+            State state = getChannelState(channelID);
+            if (state != null && !state.equals(publishedStates.get(channelID))) {
+                publishedStates.put(channelID, state);
+                updateState(channelID, state);
             }
         }
     }
 
-    private void publishChannelIfLinked(ChannelUID channelUID) {
+    private synchronized void publishChannelIfLinked(ChannelUID channelUID) {
         String channelID = channelUID.getId();
         if (currentFeedState != null) {
             if (isLinked(channelID)) {
-                State state = null;
-                switch (channelID) {
-                    case CHANNEL_LATEST_TITLE:
-                        String title = getLatestEntry(currentFeedState).getTitle();
-                        state = new StringType(getValueSafely(title));
-                        break;
-                    case CHANNEL_LATEST_DESCRIPTION:
-                        String description = getLatestEntry(currentFeedState).getDescription().getValue();
-                        state = new StringType(getValueSafely(description));
-                        break;
-                    case CHANNEL_LATEST_PUBLISHED_DATE:
-                        Date date = getLatestEntry(currentFeedState).getPublishedDate();
-                        Calendar calender = new GregorianCalendar();
-                        calender.setTime(date);
-                        state = new DateTimeType(calender);
-                        break;
-                    case CHANNEL_AUTHOR:
-                        String author = currentFeedState.getAuthor();
-                        state = new StringType(getValueSafely(author));
-                        break;
-                    case CHANNEL_DESCRIPTION:
-                        String channelDescription = currentFeedState.getDescription();
-                        state = new StringType(getValueSafely(channelDescription));
-                        break;
-                    case CHANNEL_TITLE:
-                        String channelTitle = currentFeedState.getTitle();
-                        state = new StringType(getValueSafely(channelTitle));
-                        break;
-                    case CHANNEL_LAST_UPDATE:
-                        Date pubDate = currentFeedState.getPublishedDate();
-                        Calendar calendar = new GregorianCalendar();
-                        calendar.setTime(pubDate);
-                        state = new DateTimeType(calendar);
-                        break;
-                    case CHANNEL_NUMBER_OF_ENTRIES:
-                        int numberOfEntries = currentFeedState.getEntries().size();
-                        state = new DecimalType(numberOfEntries);
-                        break;
-                }
+                State state = getChannelState(channelID);
                 if (state != null) {
+                    publishedStates.put(channelID, state);
                     updateState(channelID, state);
                 } else {
                     logger.debug("Can not update channel with ID : {} - channel name might be wrong!", channelID);
@@ -170,6 +156,54 @@ public class FeedHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Extracts the state of a channel from {@link #currentFeedState}.
+     *
+     * @return the state or <code>null</code> if the channel ID is unknown
+     */
+    private State getChannelState(String channelID) {
+        State state = null;
+        switch (channelID) {
+            case CHANNEL_LATEST_TITLE:
+                String title = getLatestEntry(currentFeedState).getTitle();
+                state = new StringType(getValueSafely(title));
+                break;
+            case CHANNEL_LATEST_DESCRIPTION:
+                String description = getLatestEntry(currentFeedState).getDescription().getValue();
+                state = new StringType(getValueSafely(description));
+                break;
+            case CHANNEL_LATEST_PUBLISHED_DATE:
+                Date date = getLatestEntry(currentFeedState).getPublishedDate();
+                Calendar calender = new GregorianCalendar();
+                calender.setTime(date);
+                state = new DateTimeType(calender);
+                break;
+            case CHANNEL_AUTHOR:
+                String author = currentFeedState.getAuthor();
+                state = new StringType(getValueSafely(author));
+                break;
+            case CHANNEL_DESCRIPTION:
+                String channelDescription = currentFeedState.getDescription();
+                state = new StringType(getValueSafely(channelDescription));
+                break;
+            case CHANNEL_TITLE:
+                String channelTitle = currentFeedState.getTitle();
+                state = new StringType(getValueSafely(channelTitle));
+                break;
+            case CHANNEL_LAST_UPDATE:
+                Date pubDate = currentFeedState.getPublishedDate();
+                Calendar calendar = new GregorianCalendar();
+                calendar.setTime(pubDate);
+                state = new DateTimeType(calendar);
+                break;
+            case CHANNEL_NUMBER_OF_ENTRIES:
+                int numberOfEntries = currentFeedState.getEntries().size();
+                state = new DecimalType(numberOfEntries);
+                break;
+        }
+        return state;
+    }
+
     /**
      * This method updates the {@link #currentFeedState}, only if there are changes on the server, since the last check.
      * It compares the content on the server with the local
@@ -179,8 +213,8 @@ public class FeedHandler extends BaseThingHandler {
      *         otherwise
      */
     private synchronized boolean updateFeedIfChanged(SyndFeed newFeedState) {
-        // SyndFeed class has implementation of equals ()
-        if (newFeedState != null && !newFeedState.equals(currentFeedState)) {
+        // The feed cache returns the same instance as long as the content on the server is not changed
+        if (newFeedState != null && newFeedState != currentFeedState) {
             currentFeedState = newFeedState;
             logger.debug("New content available!");
             return true;
@@ -190,7 +224,7 @@ public class FeedHandler extends BaseThingHandler {
     }
 
     /**
-     * This method tries to make connection with the server and fetch data from the feed.
+     * This method fetches the feed data through the {@link FeedCache}, which connects to the server if necessary.
      * The status of the feed thing is set to {@link ThingStatus#ONLINE}, if the fetching was successful.
      * Otherwise the status will be set to {@link ThingStatus#OFFLINE} with
      * {@link ThingStatusDetail#CONFIGURATION_ERROR} or
@@ -203,21 +237,7 @@ public class FeedHandler extends BaseThingHandler {
     private SyndFeed fetchFeedData(String urlString) {
         SyndFeed feed = null;
         try {
-            URL url = new URL(urlString);
-
-            URLConnection connection = url.openConnection();
-            connection.setRequestProperty("Accept-Encoding", "gzip");
-
-            BufferedReader in = null;
-            if ("gzip".equals(connection.getContentEncoding())) {
-                in = new BufferedReader(new InputStreamReader(new GZIPInputStream(connection.getInputStream())));
-            } else {
-                in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            }
-
-            SyndFeedInput input = new SyndFeedInput();
-            feed = input.build(in);
-            in.close();
+            feed = feedCache.getFeed(urlString);
 
             if (this.thing.getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests for reading lines with the {@link NioFileTailer} while the file is rotated or truncated.
+ *
+ * @author agent - Initial contribution
+ */
+public class NioFileTailerTest {
+
+    private static final String ROTATED = "<rotated>";
+    private static final String EXCEPTION = "<exception>";
+    private static final String SYNC = "sync";
+    private static final long REFRESH_RATE = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final NioFileTailer tailer = new NioFileTailer();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.newFile("test.log").toPath();
+        write(file, "written before start\n", StandardOpenOption.APPEND);
+
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(String line) {
+                events.add(line);
+            }
+
+            @Override
+            public void handle(Exception ex) {
+                events.add(EXCEPTION);
+            }
+        });
+        tailer.start(file.toString(), REFRESH_RATE, scheduler);
+        waitUntilTailing();
+    }
+
+    @After
+    public void tearDown() {
+        tailer.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testAppendedLinesAreRead() throws Exception {
+        write(file, "first\nsecond\r\nthi", StandardOpenOption.APPEND);
+        write(file, "rd\n", StandardOpenOption.APPEND);
+
+        assertEquals("first", next());
+        assertEquals("second", next());
+        assertEquals("third", next());
+    }
+
+    @Test
+    public void testRotatedFileIsReadFromTheBeginning() throws Exception {
+        write(file, "before rotation\n", StandardOpenOption.APPEND);
+        assertEquals("before rotation", next());
+
+        Files.move(file, file.resolveSibling("test.log.1"));
+        write(file, "after rotation\n", StandardOpenOption.CREATE_NEW);
+
+        assertEquals(ROTATED, next());
+        assertEquals("after rotation", next());
+    }
+
+    @Test
+    public void testTruncatedFileIsReadFromTheBeginning() throws Exception {
+        write(file, "a line which is longer than the file after truncation\n", StandardOpenOption.APPEND);
+        assertEquals("a line which is longer than the file after truncation", next());
+
+        write(file, "truncated\n", StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(ROTATED, next());
+        assertEquals("truncated", next());
+    }
+
+    /**
+     * As the file is read from its end, lines are only read after the tailer opened the file. Appends lines until one
+     * of them is read.
+     */
+    private void waitUntilTailing() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            write(file, SYNC + "\n", StandardOpenOption.APPEND);
+            String event = events.poll(REFRESH_RATE * 2, TimeUnit.MILLISECONDS);
+            if (event != null) {
+                assertEquals(SYNC, event);
+                return;
+            }
+        }
+        fail("Tailer didn't read the file");
+    }
+
+    /**
+     * @return the next event, skipping the lines appended while waiting for the tailer
+     */
+    private String next() throws InterruptedException {
+        String event;
+        do {
+            event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull("Timeout while waiting for the next line", event);
+        } while (SYNC.equals(event));
+        return event;
+    }
+
+    private static void write(Path path, String data, StandardOpenOption option) throws IOException {
+        Files.write(path, data.getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE, option);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for the literal prefilter and the combined pattern of the {@link CombinedSearchEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CombinedSearchEngineTest {
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("ERROR", CombinedSearchEngine.literalPrefix("ERROR"));
+        assertEquals("ERROR ", CombinedSearchEngine.literalPrefix("ERROR .*failed"));
+        assertEquals("WAR", CombinedSearchEngine.literalPrefix("WARN?"));
+        assertEquals("a", CombinedSearchEngine.literalPrefix("ab{0,2}c"));
+        assertEquals("", CombinedSearchEngine.literalPrefix(".*Exception"));
+        assertEquals("", CombinedSearchEngine.literalPrefix("(?i)error"));
+        assertEquals("", CombinedSearchEngine.literalPrefix("\\[ERROR\\]"));
+    }
+
+    @Test
+    public void testLinesWithoutLiteralAreRejected() {
+        CombinedSearchEngine engine = new CombinedSearchEngine(new SearchEngine("ERROR", null),
+                new SearchEngine("WARN", null));
+
+        assertFalse(engine.mayMatch("INFO everything is fine"));
+        assertTrue(engine.mayMatch("WARN something is odd"));
+        assertEquals(0, engine.match("INFO everything is fine"));
+        assertEquals(2, engine.match("WARN something is odd"));
+    }
+
+    @Test
+    public void testPatternWithoutLiteralDisablesPrefilter() {
+        CombinedSearchEngine engine = new CombinedSearchEngine(new SearchEngine("ERROR", null),
+                new SearchEngine("(?i)warn", null));
+
+        assertTrue(engine.mayMatch("Warning: something is odd"));
+        assertEquals(2, engine.match("Warning: something is odd"));
+    }
+
+    @Test
+    public void testResultIsSameAsEnginesCheckedSeparately() {
+        CombinedSearchEngine engine = new CombinedSearchEngine(new SearchEngine("ERROR|Exception", "Timeout"),
+                new SearchEngine("WARN", null), new SearchEngine("Exception", null));
+
+        assertEquals(1, engine.match("ERROR failed to connect"));
+        assertEquals(4, engine.match("ERROR Timeout Exception"));
+        assertEquals(2, engine.match("WARN only"));
+        assertEquals(7, engine.match("ERROR WARN Exception"));
+    }
+
+    @Test
+    public void testBackReferencesAreNotMixedUp() {
+        CombinedSearchEngine engine = new CombinedSearchEngine(new SearchEngine("(a)x", null),
+                new SearchEngine("(b)\\1", null));
+
+        assertEquals(0, engine.match("ab"));
+        assertEquals(1, engine.match("ax"));
+        assertEquals(2, engine.match("bb"));
+        assertEquals(3, engine.match("ax bb"));
+    }
+}
@@ -22,12 +22,14 @@ public class LogReaderConfiguration {
     public String errorBlacklistingPatterns;
     public String customPatterns;
     public String customBlacklistingPatterns;
+    public int aggregationInterval;
 
     @Override
     public String toString() {
         return "[" + "filePath=" + filePath + ", refreshRate=" + refreshRate + ", warningPatterns=" + warningPatterns
                 + ", warningBlacklistingPatterns=" + warningBlacklistingPatterns + ", errorPatterns=" + errorPatterns
                 + ", errorBlacklistingPatterns=" + errorBlacklistingPatterns + ", customPatterns=" + customPatterns
-                + ", customBlacklistingPatterns=" + customBlacklistingPatterns + "]";
+                + ", customBlacklistingPatterns=" + customBlacklistingPatterns + ", aggregationInterval="
+                + aggregationInterval + "]";
     }
 }
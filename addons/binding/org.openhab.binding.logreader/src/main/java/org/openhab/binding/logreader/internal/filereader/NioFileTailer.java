@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * NIO based log file reader implementation.
+ *
+ * The file is read through a {@link FileChannel} from the end of the file. Instead of polling the file in fixed
+ * intervals, the reader waits for changes in the directory of the file through a {@link WatchService}, but at most the
+ * refresh rate, as some file systems don't report changes. Rotation is detected when the file is replaced by a new file
+ * or truncated. The rest of the rotated file is read before the new file is read from the beginning.
+ *
+ * Every start creates a new {@link Tail} holding the state of that run, so a previous run which has not yet finished
+ * can't interfere with the file channel of the next run.
+ *
+ * @author agent - Initial contribution
+ */
+public class NioFileTailer extends AbstractLogFileReader implements LogFileReader {
+
+    private final Logger logger = LoggerFactory.getLogger(NioFileTailer.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private @Nullable Tail tail;
+
+    @Override
+    public synchronized void start(String filePath, long refreshRate, ScheduledExecutorService scheduler)
+            throws FileReaderException {
+        stop();
+        Path localPath = Paths.get(filePath).toAbsolutePath();
+
+        try {
+            Tail newTail = new Tail(localPath, refreshRate, localPath.getFileSystem().newWatchService());
+            logger.debug("Start executor");
+            scheduler.execute(newTail);
+            tail = newTail;
+        } catch (Exception e) {
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        logger.debug("Shutdown");
+
+        Tail localTail = tail;
+        tail = null;
+        if (localTail != null) {
+            localTail.stop();
+        }
+    }
+
+    /**
+     * A single run of the reader, from start until stop.
+     */
+    private class Tail implements Runnable {
+        private final Path path;
+        private final long refreshRate;
+        private final WatchService watchService;
+
+        private final byte[] readBuffer = new byte[BUFFER_SIZE];
+        private final ByteBuffer buffer = ByteBuffer.wrap(readBuffer);
+        private byte[] line = new byte[256];
+        private int lineLength;
+
+        private volatile boolean running = true;
+        private @Nullable FileChannel channel;
+        private @Nullable Object fileKey;
+        private long position;
+
+        private Tail(Path path, long refreshRate, WatchService watchService) {
+            this.path = path;
+            this.refreshRate = refreshRate;
+            this.watchService = watchService;
+        }
+
+        private void stop() {
+            running = false;
+            try {
+                // wakes up the reader thread
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close watch service: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void run() {
+            boolean registered = false;
+            boolean fromEnd = true;
+            boolean notFoundReported = false;
+
+            try {
+                while (running) {
+                    if (!registered) {
+                        registered = register();
+                    }
+                    if (channel == null) {
+                        if (open(fromEnd)) {
+                            fromEnd = false;
+                            notFoundReported = false;
+                        } else if (!notFoundReported) {
+                            sendFileNotFoundToListeners();
+                            notFoundReported = true;
+                        }
+                    }
+                    if (channel != null) {
+                        readFile();
+                    }
+
+                    WatchKey key = watchService.poll(refreshRate, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        if (!key.reset()) {
+                            registered = false;
+                        }
+                    }
+                }
+            } catch (ClosedWatchServiceException e) {
+                // reader has been stopped
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private boolean register() {
+            Path directory = path.getParent();
+            if (directory == null) {
+                return true;
+            }
+            try {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return true;
+            } catch (IOException e) {
+                // directory does not exist (yet), file is polled with the refresh rate
+                logger.trace("Can't watch directory '{}': {}", directory, e.getMessage());
+                return false;
+            }
+        }
+
+        private boolean open(boolean fromEnd) {
+            try {
+                FileChannel newChannel = FileChannel.open(path, StandardOpenOption.READ);
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                fileKey = attributes.fileKey();
+                position = fromEnd ? newChannel.size() : 0;
+                newChannel.position(position);
+                lineLength = 0;
+                channel = newChannel;
+                return true;
+            } catch (NoSuchFileException e) {
+                return false;
+            } catch (IOException e) {
+                sendExceptionToListeners(e);
+                return false;
+            }
+        }
+
+        private void readFile() {
+            try {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    attributes = null;
+                }
+
+                boolean replaced = attributes == null || !Objects.equals(fileKey, attributes.fileKey());
+                boolean truncated = !replaced && attributes.size() < position;
+                if (!truncated) {
+                    // the rest of a replaced file can still be read through the open channel
+                    readLines();
+                }
+                if (replaced || truncated) {
+                    if (lineLength > 0) {
+                        sendLine();
+                    }
+                    close();
+                    sendFileRotationToListeners();
+                    if (attributes != null) {
+                        open(false);
+                        readLines();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                sendExceptionToListeners(e);
+            }
+        }
+
+        private void readLines() throws IOException {
+            FileChannel localChannel = channel;
+            if (localChannel == null) {
+                return;
+            }
+            int read;
+            while (running && (read = localChannel.read(buffer)) > 0) {
+                position += read;
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (readBuffer[i] == '\n') {
+                        appendToLine(start, i - start);
+                        sendLine();
+                        start = i + 1;
+                    }
+                }
+                appendToLine(start, read - start);
+                buffer.clear();
+            }
+        }
+
+        private void appendToLine(int offset, int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(readBuffer, offset, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private void sendLine() {
+            int length = lineLength;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            lineLength = 0;
+            sendLineToListeners(new String(line, 0, length, StandardCharsets.UTF_8));
+        }
+
+        private void close() {
+            FileChannel localChannel = channel;
+            channel = null;
+            if (localChannel != null) {
+                try {
+                    localChannel.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close file: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -11,8 +11,11 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.util.Calendar;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -27,6 +30,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.CombinedSearchEngine;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +45,11 @@ import org.slf4j.LoggerFactory;
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
+    // bits of the combined engine result, in the order the engines are combined
+    private static final int MATCH_ERROR = 1;
+    private static final int MATCH_WARNING = 2;
+    private static final int MATCH_CUSTOM = 4;
+
     private LogReaderConfiguration configuration;
 
     private LogFileReader fileReader;
@@ -48,6 +57,11 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private SearchEngine errorEngine;
     private SearchEngine warningEngine;
     private SearchEngine customEngine;
+    private CombinedSearchEngine combinedEngine;
+
+    private EventAggregator errorEvents;
+    private EventAggregator warningEvents;
+    private EventAggregator customEvents;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -89,6 +103,13 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
             errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
             customEngine = new SearchEngine(configuration.customPatterns, configuration.customBlacklistingPatterns);
+            combinedEngine = new CombinedSearchEngine(errorEngine, warningEngine, customEngine);
+
+            errorEvents = new EventAggregator(errorEngine, CHANNEL_ERRORS, CHANNEL_LASTERROR, CHANNEL_NEWERROR);
+            warningEvents = new EventAggregator(warningEngine, CHANNEL_WARNINGS, CHANNEL_LASTWARNING,
+                    CHANNEL_NEWWARNING);
+            customEvents = new EventAggregator(customEngine, CHANNEL_CUSTOMEVENTS, CHANNEL_LASTCUSTOMEVENT,
+                    CHANNEL_NEWCUSTOM);
 
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
@@ -147,6 +168,16 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         logger.debug("Stop file reader");
         fileReader.unregisterListener(this);
         fileReader.stop();
+
+        if (errorEvents != null) {
+            errorEvents.cancel();
+        }
+        if (warningEvents != null) {
+            warningEvents.cancel();
+        }
+        if (customEvents != null) {
+            customEvents.cancel();
+        }
     }
 
     @Override
@@ -172,20 +203,19 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+        int matches = combinedEngine.match(line);
+        if (matches == 0) {
+            return;
+        }
+
+        if ((matches & MATCH_ERROR) != 0) {
+            errorEvents.add(line);
         }
-        if (warningEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+        if ((matches & MATCH_WARNING) != 0) {
+            warningEvents.add(line);
         }
-        if (customEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+        if ((matches & MATCH_CUSTOM) != 0) {
+            customEvents.add(line);
         }
     }
 
@@ -195,4 +225,81 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         logger.debug("Error while trying to read log file: {}. ", msg, ex);
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, msg);
     }
+
+    /**
+     * Publishes the matches of one search engine to its channels.
+     *
+     * Without an aggregation interval every match is published. Otherwise the first match is published immediately
+     * and the following matches within the interval are published together at the end of the interval, with a single
+     * trigger event containing the number of matches and the first and last matching line.
+     */
+    private class EventAggregator {
+        private final SearchEngine engine;
+        private final String countChannel;
+        private final String lastChannel;
+        private final String triggerChannel;
+
+        private int count;
+        private @Nullable String firstLine;
+        private @Nullable String lastLine;
+        private @Nullable ScheduledFuture<?> job;
+
+        EventAggregator(SearchEngine engine, String countChannel, String lastChannel, String triggerChannel) {
+            this.engine = engine;
+            this.countChannel = countChannel;
+            this.lastChannel = lastChannel;
+            this.triggerChannel = triggerChannel;
+        }
+
+        synchronized void add(String line) {
+            if (configuration.aggregationInterval <= 0) {
+                publish(line, 1, line);
+            } else if (job == null) {
+                publish(line, 1, line);
+                job = scheduler.schedule(this::flush, configuration.aggregationInterval, TimeUnit.MILLISECONDS);
+            } else {
+                if (count == 0) {
+                    firstLine = line;
+                }
+                lastLine = line;
+                count++;
+            }
+        }
+
+        synchronized void cancel() {
+            ScheduledFuture<?> localJob = job;
+            if (localJob != null) {
+                localJob.cancel(false);
+                job = null;
+            }
+            count = 0;
+            firstLine = null;
+            lastLine = null;
+        }
+
+        private synchronized void flush() {
+            String first = firstLine;
+            String last = lastLine;
+            if (count == 0 || first == null || last == null) {
+                // no matches within the interval, next match is published immediately
+                job = null;
+                return;
+            }
+            publish(first, count, last);
+            count = 0;
+            firstLine = null;
+            lastLine = null;
+            job = scheduler.schedule(this::flush, configuration.aggregationInterval, TimeUnit.MILLISECONDS);
+        }
+
+        private void publish(String first, int matches, String last) {
+            updateChannelIfLinked(countChannel, new DecimalType(engine.getMatchCount()));
+            updateChannelIfLinked(lastChannel, new StringType(last));
+            if (matches == 1) {
+                triggerChannel(triggerChannel, last);
+            } else {
+                triggerChannel(triggerChannel, String.format("%d matches, first: %s, last: %s", matches, first, last));
+            }
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class checks a line against several {@link SearchEngine}s at once.
+ *
+ * Most lines of a log file don't match any search pattern. To reject those lines fast, the search patterns of all
+ * engines are combined into one alternation, which is checked in a single pass. If all search patterns start with a
+ * literal text, lines which don't contain any of these literals are rejected without running the regular expression at
+ * all. Only lines which pass both checks are checked against the patterns and blacklisting patterns of each engine, so
+ * the result is exactly the same as checking every engine separately.
+ *
+ * This class is not thread safe, lines are expected to be checked by a single reader thread.
+ *
+ * @author agent - Initial contribution
+ */
+public class CombinedSearchEngine {
+
+    private static final String META_CHARACTERS = "\\.[]{}()<>*+-=!?^$|";
+
+    private final SearchEngine[] engines;
+    private final @Nullable Matcher combinedMatcher;
+    private final String @Nullable [] literals;
+
+    /**
+     * Combine the search patterns of the given engines.
+     *
+     * @param engines search engines to check lines against.
+     */
+    public CombinedSearchEngine(SearchEngine... engines) {
+        this.engines = engines;
+
+        List<Pattern> patterns = new ArrayList<>();
+        for (SearchEngine engine : engines) {
+            patterns.addAll(engine.getPatterns());
+        }
+        combinedMatcher = combinePatterns(patterns);
+        literals = requiredLiterals(patterns);
+    }
+
+    /**
+     * Check which search engines have a match for the data. Match counts of the matching engines are increased.
+     *
+     * @param data data against search will be done.
+     * @return bit mask of matching engines, bit n is set if the n-th engine given to the constructor found a match.
+     */
+    public int match(String data) {
+        if (!mayMatch(data)) {
+            return 0;
+        }
+        int result = 0;
+        for (int i = 0; i < engines.length; i++) {
+            if (engines[i].isMatching(data)) {
+                result |= 1 << i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the data passes the literal and the combined pattern check.
+     *
+     * @param data data against search will be done.
+     * @return false if none of the engines can have a match for the data.
+     */
+    boolean mayMatch(String data) {
+        String[] localLiterals = literals;
+        if (localLiterals != null) {
+            boolean found = false;
+            for (String literal : localLiterals) {
+                if (data.contains(literal)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        Matcher matcher = combinedMatcher;
+        return matcher == null || matcher.reset(data).find();
+    }
+
+    /**
+     * Combine patterns into one alternation.
+     *
+     * Patterns with capturing groups are not combined: the groups of all patterns are numbered through in the combined
+     * pattern, so a back reference like \1 would refer to a group of another pattern. A back reference in a pattern
+     * without any capturing group can't ever match, in the combined pattern neither.
+     *
+     * @return matcher for the combined pattern or null if patterns can't be combined.
+     */
+    private static @Nullable Matcher combinePatterns(List<Pattern> patterns) {
+        if (patterns.isEmpty()) {
+            // no engine will ever match, as a combined pattern it would match every line
+            return Pattern.compile("(?!)").matcher("");
+        }
+        StringBuilder combined = new StringBuilder();
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher("").groupCount() > 0) {
+                return null;
+            }
+            if (combined.length() > 0) {
+                combined.append('|');
+            }
+            combined.append("(?:").append(pattern.pattern()).append(')');
+        }
+        try {
+            return Pattern.compile(combined.toString()).matcher("");
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the literal text every pattern starts with.
+     *
+     * @return literals, one of which is contained by every matching line, or null if any pattern doesn't start with a
+     *         literal.
+     */
+    private static String @Nullable [] requiredLiterals(List<Pattern> patterns) {
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        String[] result = new String[patterns.size()];
+        for (int i = 0; i < result.length; i++) {
+            Pattern pattern = patterns.get(i);
+            String literal = pattern.flags() == 0 ? literalPrefix(pattern.pattern()) : "";
+            if (literal.isEmpty()) {
+                return null;
+            }
+            result[i] = literal;
+        }
+        return result;
+    }
+
+    /**
+     * Get the text a regular expression starts with, which is required for a match.
+     */
+    static String literalPrefix(String regex) {
+        int end = 0;
+        while (end < regex.length() && META_CHARACTERS.indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < regex.length()) {
+            char next = regex.charAt(end);
+            // the last character of the prefix is optional
+            if (next == '?' || next == '*' || next == '{') {
+                end--;
+            }
+        }
+        return end > 0 ? regex.substring(0, end) : "";
+    }
+}
@@ -68,6 +68,15 @@ public class SearchEngine {
         setMatchCount(0);
     }
 
+    /**
+     * Get the precompiled search patterns, without the blacklisting patterns.
+     *
+     * @return list of precompiled search patterns.
+     */
+    List<Pattern> getPatterns() {
+        return matchers;
+    }
+
     /**
      * Split pattern string and precompile search patterns.
      *
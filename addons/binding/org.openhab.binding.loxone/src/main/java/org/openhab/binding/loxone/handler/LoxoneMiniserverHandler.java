@@ -20,9 +20,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.smarthome.config.core.Configuration;
@@ -97,6 +101,12 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
 
     private Logger logger = LoggerFactory.getLogger(LoxoneMiniserverHandler.class);
     private Map<ChannelUID, LxControl> controls = new HashMap<>();
+    // Controls with state updates not passed to the channel yet and the channel of the control
+    private final Map<LxControl, ChannelUID> pendingUpdates = new LinkedHashMap<>();
+    // Time in nanoseconds of the last channel update of a control, only kept with a minimum update interval
+    private final Map<LxControl, Long> lastUpdates = new HashMap<>();
+    private ScheduledFuture<?> pendingUpdatesJob;
+    private long minUpdateIntervalNanos;
 
     private LoxoneDynamicStateDescriptionProvider dynamicStateDescriptionProvider;
 
@@ -264,6 +274,7 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
     public void initialize() {
         logger.trace("Initializing thing");
         LoxoneMiniserverConfig cfg = getConfig().as(LoxoneMiniserverConfig.class);
+        minUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(cfg.minUpdateInterval);
         try {
             InetAddress ip = InetAddress.getByName(cfg.host);
             server = new LxServer(LxWsSecurityType.getType(cfg.authMethod), ip, cfg.port, cfg.user, cfg.password);
@@ -304,6 +315,11 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 }
             }
         }
+        synchronized (pendingUpdates) {
+            // The state index of the server has been rebuilt, controls which are gone must not be kept
+            lastUpdates.clear();
+            pendingUpdates.keySet().retainAll(new HashSet<>(controls.values()));
+        }
 
         logger.trace("Sorting channels");
         channels.sort(new Comparator<Channel>() {
@@ -386,8 +402,16 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 return;
             }
         }
-        // for all state updates not handled above just update the channel state the regular way
-        updateChannelStates(channelId, control);
+        // for all state updates not handled above update the channel state the regular way, but only once after all
+        // state updates of a message were received, as a control can receive updates of many states in one message
+        synchronized (pendingUpdates) {
+            pendingUpdates.put(control, channelId);
+        }
+    }
+
+    @Override
+    public void onControlStateUpdatesComplete() {
+        publishPendingUpdates();
     }
 
     @Override
@@ -441,6 +465,14 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
             server.stop();
             server = null;
         }
+        synchronized (pendingUpdates) {
+            if (pendingUpdatesJob != null) {
+                pendingUpdatesJob.cancel(false);
+                pendingUpdatesJob = null;
+            }
+            pendingUpdates.clear();
+            lastUpdates.clear();
+        }
     }
 
     @Override
@@ -455,6 +487,34 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
         updateConfiguration(config);
     }
 
+    /**
+     * Update channel states of controls that received state updates. If a minimum update interval is configured,
+     * controls updated within the interval stay pending and are updated later by a scheduled job.
+     */
+    private void publishPendingUpdates() {
+        synchronized (pendingUpdates) {
+            long now = System.nanoTime();
+            long nextUpdate = Long.MAX_VALUE;
+
+            for (Iterator<Map.Entry<LxControl, ChannelUID>> it = pendingUpdates.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<LxControl, ChannelUID> entry = it.next();
+                if (minUpdateIntervalNanos > 0) {
+                    Long last = lastUpdates.get(entry.getKey());
+                    if (last != null && now - last < minUpdateIntervalNanos) {
+                        nextUpdate = Math.min(nextUpdate, last + minUpdateIntervalNanos - now);
+                        continue;
+                    }
+                    lastUpdates.put(entry.getKey(), now);
+                }
+                updateChannelStates(entry.getValue(), entry.getKey());
+                it.remove();
+            }
+            if (nextUpdate != Long.MAX_VALUE && (pendingUpdatesJob == null || pendingUpdatesJob.isDone())) {
+                pendingUpdatesJob = scheduler.schedule(this::publishPendingUpdates, nextUpdate, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
     /**
      * Create and add a new channel to the channels list.
      *
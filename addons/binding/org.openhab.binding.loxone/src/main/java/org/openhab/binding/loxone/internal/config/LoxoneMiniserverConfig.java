@@ -62,6 +62,10 @@ public class LoxoneMiniserverConfig {
      * Time in seconds between connection close (as a result of some communication error) and next connection attempt
      */
     public int comErrorDelay;
+    /**
+     * Minimum time in milliseconds between two updates of the channel state of a control
+     */
+    public int minUpdateInterval;
     /**
      * Websocket client's max binary message size in kB
      */
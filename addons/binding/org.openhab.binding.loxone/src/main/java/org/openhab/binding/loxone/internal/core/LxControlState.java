@@ -73,9 +73,22 @@ class LxControlState {
         }
 
         if (changed) {
-            for (LxControlStateListener listener : listeners) {
-                listener.onStateChange(this);
-            }
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Sets current value of the state, without boxing the value when it did not change.
+     *
+     * @param value
+     *            new value of the state
+     */
+    void setValue(double value) {
+        uuid.setUpdate(true);
+
+        if (this.value == null || Double.compare(this.value, value) != 0) {
+            this.value = value;
+            notifyListeners();
         }
     }
 
@@ -172,4 +185,9 @@ class LxControlState {
         listeners.remove(listener);
     }
 
+    private void notifyListeners() {
+        for (LxControlStateListener listener : listeners) {
+            listener.onStateChange(this);
+        }
+    }
 }
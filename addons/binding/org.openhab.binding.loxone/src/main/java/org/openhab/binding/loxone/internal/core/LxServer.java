@@ -10,6 +10,7 @@ package org.openhab.binding.loxone.internal.core;
 
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -96,6 +97,8 @@ public class LxServer {
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private final Map<LxUuid, Map<LxUuid, LxControlState>> states = new HashMap<>();
+    // Index of the states by binary UUID, to resolve state updates received from the Miniserver
+    private LxStateIndex stateIndex = new LxStateIndex(Collections.emptyMap());
     private final List<LxServerListener> listeners = new ArrayList<>();
 
     // Services
@@ -444,25 +447,7 @@ public class LxServer {
                     }
                     break;
                 case STATE_UPDATE:
-                    LxWsStateUpdateEvent update = (LxWsStateUpdateEvent) wsMsg.getObject();
-                    Map<LxUuid, LxControlState> perStateUuid = findState(update.getUuid());
-                    if (perStateUuid != null) {
-                        perStateUuid.forEach((controlUuid, state) -> {
-                            state.setValue(update.getValue(), update.getText());
-                            LxControl control = state.getControl();
-                            if (control != null) {
-                                logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                        update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                        update.getText());
-                                for (LxServerListener listener : listeners) {
-                                    listener.onControlStateUpdate(control, state.getName().toLowerCase());
-                                }
-                            } else {
-                                logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
-                                        state.getName());
-                            }
-                        });
-                    }
+                    processStateUpdates((LxWsStateUpdateTable) wsMsg.getObject());
                     break;
                 case SERVER_ONLINE:
                     for (LxServerListener listener : listeners) {
@@ -506,6 +491,43 @@ public class LxServer {
             return true;
         }
 
+        private void processStateUpdates(LxWsStateUpdateTable table) {
+            for (int i = 0; i < table.size(); i++) {
+                LxControlState[] perStateUuid = stateIndex.get(table.getUuidHigh(i), table.getUuidLow(i));
+                if (perStateUuid == null) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("[{}] State update of unknown state {}", debugId,
+                                new LxUuid(table.getUuidHigh(i), table.getUuidLow(i)));
+                    }
+                    continue;
+                }
+                for (LxControlState state : perStateUuid) {
+                    if (table.isValueTable()) {
+                        state.setValue(table.getValue(i));
+                    } else {
+                        state.setValue(null, table.getText(i));
+                    }
+                    LxControl control = state.getControl();
+                    if (control != null) {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
+                                    state.getUuid(), control.getName(), state.getName(), state.getValue(),
+                                    state.getTextValue());
+                        }
+                        // state names are lower case already
+                        for (LxServerListener listener : listeners) {
+                            listener.onControlStateUpdate(control, state.getName());
+                        }
+                    } else {
+                        logger.debug("[{}] State update {} ({}) of unknown control", debugId, state.getUuid(),
+                                state.getName());
+                    }
+                }
+            }
+            for (LxServerListener listener : listeners) {
+                listener.onControlStateUpdatesComplete();
+            }
+        }
     }
 
     /**
@@ -565,6 +587,7 @@ public class LxServer {
         removeUnusedFromMap(categories);
         removeUnusedFromMap(controls);
         removeUnusedFromMap(states);
+        stateIndex = new LxStateIndex(states);
     }
 
     /**
@@ -642,24 +665,6 @@ public class LxServer {
         return nr;
     }
 
-    /**
-     * Search for a state with given UUID
-     *
-     * @param id
-     *            UUID of state to locate
-     * @return
-     *         map of all state objects with control UUID as key
-     */
-    private Map<LxUuid, LxControlState> findState(LxUuid id) {
-        if (states == null || id == null) {
-            return null;
-        }
-        if (states.containsKey(id)) {
-            return states.get(id);
-        }
-        return null;
-    }
-
     /**
      * Search for a category on the server
      *
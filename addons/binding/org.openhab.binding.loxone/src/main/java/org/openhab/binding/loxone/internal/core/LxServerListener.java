@@ -57,6 +57,12 @@ public interface LxServerListener {
      */
     void onControlStateUpdate(LxControl control, String stateName);
 
+    /**
+     * Called by {@link LxServer} thread when all state updates received from the Miniserver in one message were passed
+     * to {@link #onControlStateUpdate(LxControl, String)}. A control can receive updates of many states in one message.
+     */
+    void onControlStateUpdatesComplete();
+
     Object getSetting(String name);
 
     void setSettings(Map<String, String> properties);
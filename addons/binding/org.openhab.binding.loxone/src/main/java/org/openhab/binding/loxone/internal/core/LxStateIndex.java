@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Index of control states by the binary form of their UUID.
+ * <p>
+ * State updates are received from the Miniserver with binary UUIDs. This index allows to find the states of an update
+ * without creating a {@link LxUuid} object for it. As a state UUID can be configured in many controls, all states with
+ * the same UUID are returned together. The index is built once for a configuration and never modified.
+ *
+ * @author agent - initial contribution
+ *
+ */
+class LxStateIndex {
+    private static final LxControlState[] NO_STATES = new LxControlState[0];
+
+    private final long[] highs;
+    private final long[] lows;
+    private final LxControlState[][] entries;
+    private final int mask;
+
+    /**
+     * Create a new index of states.
+     *
+     * @param states
+     *            map of state UUID to a map of control UUID and state objects, as kept by {@link LxServer}
+     */
+    LxStateIndex(Map<LxUuid, Map<LxUuid, LxControlState>> states) {
+        int capacity = 16;
+        while (capacity < states.size() * 2) {
+            capacity <<= 1;
+        }
+        highs = new long[capacity];
+        lows = new long[capacity];
+        entries = new LxControlState[capacity][];
+        mask = capacity - 1;
+
+        states.forEach((uuid, perControl) -> {
+            if (uuid.isBinary()) {
+                put(uuid.getHigh(), uuid.getLow(), perControl.values());
+            }
+        });
+    }
+
+    /**
+     * Search for states with given UUID
+     *
+     * @param high
+     *            first 8 bytes of the state UUID
+     * @param low
+     *            last 8 bytes of the state UUID
+     * @return
+     *         all state objects with this UUID or null if not found
+     */
+    LxControlState[] get(long high, long low) {
+        for (int i = slot(high, low);; i = (i + 1) & mask) {
+            LxControlState[] found = entries[i];
+            if (found == null || (highs[i] == high && lows[i] == low)) {
+                return found;
+            }
+        }
+    }
+
+    private void put(long high, long low, Collection<LxControlState> states) {
+        int i = slot(high, low);
+        while (entries[i] != null) {
+            i = (i + 1) & mask;
+        }
+        highs[i] = high;
+        lows[i] = low;
+        entries[i] = states.toArray(NO_STATES);
+    }
+
+    private int slot(long high, long low) {
+        long hash = high * 0x9E3779B97F4A7C15L ^ low;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -8,9 +8,6 @@
  */
 package org.openhab.binding.loxone.internal.core;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
 /**
  * Unique identifier of an object on Loxone Miniserver.
  * <p>
@@ -24,6 +21,9 @@ public class LxUuid {
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
+    private boolean binary;
+    private long high;
+    private long low;
 
     /**
      * Create a new {@link LxUuid} object from an UUID on a Miniserver.
@@ -35,20 +35,66 @@ public class LxUuid {
         init(uuid);
     }
 
-    public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        init(id);
+    /**
+     * Create a new {@link LxUuid} object from an UUID in binary form, as read with {@link #readHigh(byte[], int)} and
+     * {@link #readLow(byte[], int)}.
+     *
+     * @param high
+     *            first 8 bytes of the UUID
+     * @param low
+     *            last 8 bytes of the UUID
+     */
+    LxUuid(long high, long low) {
+        init(String.format("%08x-%04x-%04x-%016x", high >>> 32, (high >>> 16) & 0xFFFF, high & 0xFFFF, low));
     }
 
     private void init(String uuid) {
         uuidOriginal = uuid;
         this.uuid = uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
         updated = true;
+
+        // UUIDs of states are received in binary form, keep the same representation for fast lookup
+        String hex = this.uuid.replace("-", "");
+        binary = hex.length() == 32 && hex.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+        if (binary) {
+            high = Long.parseUnsignedLong(hex.substring(0, 16), 16);
+            low = Long.parseUnsignedLong(hex.substring(16), 16);
+        }
+    }
+
+    /**
+     * Reads the first 8 bytes of an UUID in binary form, as sent by the Miniserver in state update tables. The first
+     * three fields of the UUID are little endian numbers.
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the UUID starts
+     * @return
+     *         first 8 bytes of the UUID in the same order as in the string representation
+     */
+    static long readHigh(byte data[], int offset) {
+        return (data[offset + 3] & 0xFFL) << 56 | (data[offset + 2] & 0xFFL) << 48 | (data[offset + 1] & 0xFFL) << 40
+                | (data[offset] & 0xFFL) << 32 | (data[offset + 5] & 0xFFL) << 24 | (data[offset + 4] & 0xFFL) << 16
+                | (data[offset + 7] & 0xFFL) << 8 | (data[offset + 6] & 0xFFL);
+    }
+
+    /**
+     * Reads the last 8 bytes of an UUID in binary form, as sent by the Miniserver in state update tables.
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the UUID starts
+     * @return
+     *         last 8 bytes of the UUID in the same order as in the string representation
+     */
+    static long readLow(byte data[], int offset) {
+        long low = 0;
+        for (int i = offset + 8; i < offset + 16; i++) {
+            low = low << 8 | (data[i] & 0xFF);
+        }
+        return low;
     }
 
     @Override
@@ -106,4 +152,34 @@ public class LxUuid {
     boolean getUpdate() {
         return updated;
     }
+
+    /**
+     * See if the UUID has a binary form, as used in state update tables.
+     *
+     * @return
+     *         true if {@link #getHigh()} and {@link #getLow()} represent this UUID
+     */
+    boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Get first 8 bytes of the binary form of this UUID
+     *
+     * @return
+     *         first 8 bytes of the UUID, 0 if UUID has no binary form
+     */
+    long getHigh() {
+        return high;
+    }
+
+    /**
+     * Get last 8 bytes of the binary form of this UUID
+     *
+     * @return
+     *         last 8 bytes of the UUID, 0 if UUID has no binary form
+     */
+    long getLow() {
+        return low;
+    }
 }
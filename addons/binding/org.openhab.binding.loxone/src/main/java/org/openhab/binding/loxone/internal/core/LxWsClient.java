@@ -617,9 +617,7 @@ class LxWsClient {
         }
 
         @OnWebSocketMessage
-        public void onBinaryMessage(byte data[], int msgOffset, int msgLength) {
-            int offset = msgOffset;
-            int length = msgLength;
+        public void onBinaryMessage(byte data[], int offset, int length) {
             if (logger.isTraceEnabled()) {
                 String s = Hex.encodeHexString(data);
                 logger.trace("[{}] Binary message: length {}: {}", debugId, length, s);
@@ -651,20 +649,12 @@ class LxWsClient {
                     switch (header.type) {
                         case EVENT_TABLE_OF_VALUE_STATES:
                             stopResponseTimeout();
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            notifyMaster(EventType.STATE_UPDATE, null,
+                                    LxWsStateUpdateTable.fromValueStates(data, offset, length));
                             break;
                         case EVENT_TABLE_OF_TEXT_STATES:
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(false, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            notifyMaster(EventType.STATE_UPDATE, null,
+                                    LxWsStateUpdateTable.fromTextStates(data, offset, length));
                             break;
                         case KEEPALIVE_RESPONSE:
                         case TEXT_MESSAGE:
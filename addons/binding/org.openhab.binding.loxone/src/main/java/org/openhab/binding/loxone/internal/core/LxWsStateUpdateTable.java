@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+/**
+ * A table of control's state updates received from Loxone Miniserver in a single binary message.
+ * <p>
+ * The table is decoded into arrays of primitive values, so no objects are created per state update, except for the
+ * text of text state updates. UUIDs are kept in binary form, to be resolved with {@link LxStateIndex}.
+ *
+ * @author agent - initial contribution
+ *
+ */
+class LxWsStateUpdateTable {
+    private static final int VALUE_EVENT_SIZE = 24;
+    private static final int TEXT_EVENT_HEADER_SIZE = 36;
+
+    private final boolean valueTable;
+    private final long[] uuidHigh;
+    private final long[] uuidLow;
+    private final double[] values;
+    private final String[] texts;
+    private int size;
+
+    private LxWsStateUpdateTable(boolean valueTable, int capacity) {
+        this.valueTable = valueTable;
+        uuidHigh = new long[capacity];
+        uuidLow = new long[capacity];
+        values = valueTable ? new double[capacity] : null;
+        texts = valueTable ? null : new String[capacity];
+    }
+
+    /**
+     * Create new table from binary message with value state updates
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the table starts
+     * @param length
+     *            length of the table in bytes
+     * @return
+     *         decoded table
+     */
+    static LxWsStateUpdateTable fromValueStates(byte data[], int offset, int length) throws IndexOutOfBoundsException {
+        LxWsStateUpdateTable table = new LxWsStateUpdateTable(true, length / VALUE_EVENT_SIZE);
+        int end = offset + length;
+        for (int pos = offset; pos + VALUE_EVENT_SIZE <= end; pos += VALUE_EVENT_SIZE) {
+            table.uuidHigh[table.size] = LxUuid.readHigh(data, pos);
+            table.uuidLow[table.size] = LxUuid.readLow(data, pos);
+            table.values[table.size] = Double.longBitsToDouble(readLong(data, pos + 16));
+            table.size++;
+        }
+        return table;
+    }
+
+    /**
+     * Create new table from binary message with text state updates
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the table starts
+     * @param length
+     *            length of the table in bytes
+     * @return
+     *         decoded table
+     */
+    static LxWsStateUpdateTable fromTextStates(byte data[], int offset, int length) throws IndexOutOfBoundsException {
+        LxWsStateUpdateTable table = new LxWsStateUpdateTable(false, length / TEXT_EVENT_HEADER_SIZE);
+        int end = offset + length;
+        int pos = offset;
+        while (pos + TEXT_EVENT_HEADER_SIZE <= end) {
+            // text event: state UUID, icon UUID (ignored), text length, text padded to 4 bytes
+            int textLen = readInt(data, pos + 32);
+            if (textLen < 0 || pos + TEXT_EVENT_HEADER_SIZE + textLen > end) {
+                throw new IndexOutOfBoundsException("Text state update exceeds message length");
+            }
+            table.uuidHigh[table.size] = LxUuid.readHigh(data, pos);
+            table.uuidLow[table.size] = LxUuid.readLow(data, pos);
+            table.texts[table.size] = new String(data, pos + TEXT_EVENT_HEADER_SIZE, textLen);
+            table.size++;
+            pos += TEXT_EVENT_HEADER_SIZE + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
+        }
+        return table;
+    }
+
+    /**
+     * Get number of state updates in the table
+     *
+     * @return
+     *         number of state updates
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * See if this table updates double values or text values
+     *
+     * @return
+     *         true if the table contains value updates, false if it contains text updates
+     */
+    boolean isValueTable() {
+        return valueTable;
+    }
+
+    /**
+     * Get first 8 bytes of the UUID of a state update
+     *
+     * @param index
+     *            index of the state update in the table
+     * @return
+     *         first 8 bytes of the state UUID
+     */
+    long getUuidHigh(int index) {
+        return uuidHigh[index];
+    }
+
+    /**
+     * Get last 8 bytes of the UUID of a state update
+     *
+     * @param index
+     *            index of the state update in the table
+     * @return
+     *         last 8 bytes of the state UUID
+     */
+    long getUuidLow(int index) {
+        return uuidLow[index];
+    }
+
+    /**
+     * Get the value of a state update, only for value tables
+     *
+     * @param index
+     *            index of the state update in the table
+     * @return
+     *         new value of the state
+     */
+    double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Get the text of a state update, only for text tables
+     *
+     * @param index
+     *            index of the state update in the table
+     * @return
+     *         new text of the state
+     */
+    String getText(int index) {
+        return texts[index];
+    }
+
+    private static int readInt(byte data[], int offset) {
+        return (data[offset + 3] & 0xFF) << 24 | (data[offset + 2] & 0xFF) << 16 | (data[offset + 1] & 0xFF) << 8
+                | (data[offset] & 0xFF);
+    }
+
+    private static long readLong(byte data[], int offset) {
+        return (readInt(data, offset + 4) & 0xFFFFFFFFL) << 32 | (readInt(data, offset) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.DoubleSupplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests cases for {@see PresenceProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+    @Mock
+    ExecutorService executorService;
+
+    @Mock
+    DoubleSupplier probe;
+
+    PresenceProbeEngine subject;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = new PresenceProbeEngine(executorService);
+    }
+
+    @Test
+    public void pendingProbeIsShared() {
+        when(probe.getAsDouble()).thenReturn(12.0);
+
+        CompletableFuture<Double> first = subject.submit("icmp/127.0.0.1", probe);
+        CompletableFuture<Double> second = subject.submit("icmp/127.0.0.1", probe);
+        CompletableFuture<Double> other = subject.submit("icmp/127.0.0.2", probe);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertThat(subject.getDeduplicated(), is(1L));
+        assertThat(subject.getBacklog(), is(2));
+
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(2)).execute(capture.capture());
+        for (Runnable r : capture.getAllValues()) {
+            r.run();
+        }
+
+        verify(probe, times(2)).getAsDouble();
+        assertThat(first.getNow(null), is(12.0));
+        assertThat(subject.getBacklog(), is(0));
+
+        // A finished probe is not shared anymore
+        assertNotSame(first, subject.submit("icmp/127.0.0.1", probe));
+    }
+
+    @Test
+    public void failingProbeIsNotReachable() {
+        when(probe.getAsDouble()).thenThrow(new IllegalStateException());
+
+        CompletableFuture<Double> result = subject.submit("tcp/127.0.0.1:80", probe);
+
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).execute(capture.capture());
+        capture.getValue().run();
+
+        assertThat(result.getNow(null), is(PresenceDetection.NOT_REACHABLE));
+        assertThat(subject.getRunning(), is(0));
+    }
+}
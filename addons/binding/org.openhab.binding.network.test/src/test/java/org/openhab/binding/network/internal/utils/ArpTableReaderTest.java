@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests cases for {@see ArpTableReader}
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpTableReaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void completedEntriesOnly() throws IOException {
+        Path file = folder.newFile("arp").toPath();
+        Files.write(file, Arrays.asList( //
+                "IP address       HW type     Flags       HW address            Mask     Device",
+                "192.168.1.1      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0",
+                "192.168.1.20     0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "192.168.1.21     0x1         0x6         aa:bb:cc:dd:ee:21     *        wlan0"),
+                StandardCharsets.US_ASCII);
+
+        ArpTableReader reader = new ArpTableReader(file, 0);
+        assertTrue(reader.isAvailable());
+
+        Map<String, String> entries = reader.getEntries();
+        assertThat(entries.size(), is(2));
+        assertThat(entries.get("192.168.1.1"), is("aa:bb:cc:dd:ee:01"));
+        assertThat(entries.get("192.168.1.21"), is("aa:bb:cc:dd:ee:21"));
+        assertFalse(reader.contains("192.168.1.20"));
+    }
+
+    @Test
+    public void missingTable() throws IOException {
+        ArpTableReader reader = new ArpTableReader(folder.getRoot().toPath().resolve("missing"), 0);
+        assertFalse(reader.isAvailable());
+        assertTrue(reader.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.openhab.binding.network.internal.PresenceDetection;
+
+/**
+ * Tests cases for {@see AsyncTcpProber}
+ *
+ * @author agent - Initial contribution
+ */
+public class AsyncTcpProberTest {
+    @Test
+    public void connectAndRefuse() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        AsyncTcpProber prober = new AsyncTcpProber(2);
+        int closedPort;
+        try (ServerSocket server = new ServerSocket(0)) {
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getLocalPort());
+            closedPort = server.getLocalPort();
+            assertThat(prober.probe(address, 1000).get(2, TimeUnit.SECONDS) >= 0, is(true));
+        }
+        // The connection is refused now
+        assertThat(prober.probe(new InetSocketAddress("127.0.0.1", closedPort), 1000).get(2, TimeUnit.SECONDS),
+                is(PresenceDetection.NOT_REACHABLE));
+        prober.shutdown();
+    }
+
+    @Test
+    public void resultIsCompletedOnExecutor()
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        BlockingQueue<Runnable> completions = new LinkedBlockingQueue<>();
+        AsyncTcpProber prober = new AsyncTcpProber(2, completions::add);
+        int closedPort;
+        try (ServerSocket server = new ServerSocket(0)) {
+            closedPort = server.getLocalPort();
+        }
+
+        CompletableFuture<Double> result = prober.probe(new InetSocketAddress("127.0.0.1", closedPort), 1000);
+        Runnable completion = completions.poll(2, TimeUnit.SECONDS);
+        // The selector thread leaves the completion to the executor
+        assertThat(completion != null, is(true));
+        assertThat(result.isDone(), is(false));
+
+        completion.run();
+        assertThat(result.get(0, TimeUnit.SECONDS), is(PresenceDetection.NOT_REACHABLE));
+        prober.shutdown();
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see SubnetSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetSweepTest {
+    @Test
+    public void hostAddressesOnly() {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.1.10/30"), 0);
+        assertThat(sweep.size(), is(2L));
+        assertThat(sweep.next(), is("192.168.1.9"));
+        assertThat(sweep.next(), is("192.168.1.10"));
+        assertFalse(sweep.hasNext());
+    }
+
+    @Test
+    public void largeNetworkWithMaximum() {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("10.1.200.3/16"), 300);
+        assertThat(sweep.size(), is(300L));
+        assertTrue(sweep.contains("10.1.0.1"));
+        assertTrue(sweep.contains("10.1.1.44"));
+        assertFalse(sweep.contains("10.1.1.45"));
+
+        String last = null;
+        int count = 0;
+        while (sweep.hasNext()) {
+            last = sweep.next();
+            count++;
+        }
+        assertThat(count, is(300));
+        assertThat(last, is("10.1.1.44"));
+
+        assertThat(new SubnetSweep(Collections.singleton("10.1.200.3/16"), 0).size(), is(65534L));
+    }
+
+    @Test
+    public void ignoredAndOverlappingNetworks() {
+        SubnetSweep sweep = new SubnetSweep(Arrays.asList("fe80:0:0:0:1:2:3:4%eth0/64", "192.168.1.10/24",
+                "192.168.1.11/24", "192.168.2.1/32", "172.16.0.1/31"), 0);
+        assertThat(sweep.size(), is(254L));
+        assertThat(sweep.next(), is("192.168.1.1"));
+        assertFalse(sweep.contains("192.168.2.1"));
+    }
+}
@@ -61,6 +61,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        PresenceProbeEngine.getInstance().setMaximumThreads(configuration.maxProbeThreads.intValue());
     }
 
     @Override
@@ -15,11 +15,12 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
@@ -41,6 +42,7 @@ import org.slf4j.LoggerFactory;
 public class PresenceDetection implements IPRequestReceivedCallback {
     public static final double NOT_REACHABLE = -1;
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceProbeEngine probeEngine = PresenceProbeEngine.getInstance();
     private Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -62,7 +64,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private final PresenceDetectionListener updateListener;
     private ScheduledFuture<?> refreshJob;
     private InetAddress destination;
-    ExecutorService executorService;
+    CompletableFuture<Void> detection;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -119,6 +121,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.timeoutInMS = timeout;
     }
 
+    /**
+     * Sets the probe engine which executes the individual probes. Defaults to the binding wide engine.
+     *
+     * @param probeEngine The probe engine
+     */
+    public void setProbeEngine(PresenceProbeEngine probeEngine) {
+        this.probeEngine = probeEngine;
+    }
+
     /**
      * Sets the ping method. This method will perform a feature test. If SYSTEM_PING
      * does not work on this system, JAVA_PING will be used instead.
@@ -202,14 +213,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The individual checks are submitted to the
+     * binding wide {@link PresenceProbeEngine}, which executes them on a bounded thread pool
+     * and shares the result of identical checks that are already pending.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -223,7 +231,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detection != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -236,52 +244,61 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         Set<String> interfaceNames = null;
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
+        int checks = tcpPorts.size();
         if (pingMethod != null) {
-            detectionChecks += 1;
+            checks += 1;
         }
         if (arpPingMethod != null) {
             interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
+            checks += interfaceNames.size();
         }
 
-        if (detectionChecks == 0) {
+        if (checks == 0) {
             return false;
         }
 
-        executorService = getThreadsFor(detectionChecks);
+        final CompletableFuture<Void> currentDetection = new CompletableFuture<>();
+        synchronized (this) {
+            if (detection != null) {
+                return false;
+            }
+            detection = currentDetection;
+            currentCheck = 0;
+            detectionChecks = checks;
+        }
 
+        final String hostAddress = destination.getHostAddress();
+
+        // TCP connection attempts are non-blocking and don't occupy a probe engine thread
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            submitProbe(currentDetection,
+                    probeEngine.submitAsync("tcp/" + hostAddress + ":" + tcpPort + "/" + timeoutInMS,
+                            () -> performServicePing(tcpPort)),
+                    PresenceDetectionType.TCP_CONNECTION, tcpPort);
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses. Use an own probe for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                submitProbe(currentDetection,
+                        probeEngine.submit(
+                                "arp/" + hostAddress + "/" + interfaceName + "/" + arpPingMethod + "/" + timeoutInMS,
+                                () -> performARPping(interfaceName)),
+                        PresenceDetectionType.ARP_PING, 0);
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            final IpPingMethodEnum method = pingMethod;
+            submitProbe(currentDetection,
+                    probeEngine.submit("icmp/" + hostAddress + "/" + method + "/" + timeoutInMS, () -> {
+                        if (method != IpPingMethodEnum.JAVA_PING) {
+                            return performSystemPing();
+                        } else {
+                            return performJavaPing();
+                        }
+                    }), PresenceDetectionType.ICMP_PING, 0);
         }
 
         if (waitForDetectionToFinish) {
@@ -291,20 +308,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Handles the result of a single check. Reachable results are handed to the update listener as partial
+     * results, as long as the detection process the check belongs to is still ongoing.
+     */
+    private void submitProbe(CompletableFuture<Void> currentDetection, CompletableFuture<Double> probe,
+            PresenceDetectionType type, int tcpPort) {
+        probe.whenComplete((latency, e) -> {
+            if (latency != null && latency != NOT_REACHABLE) {
+                PresenceDetectionValue v;
+                synchronized (this) {
+                    if (detection != currentDetection) {
+                        return;
+                    }
+                    v = updateReachableValue(type, latency);
+                    if (type == PresenceDetectionType.TCP_CONNECTION) {
+                        v.addReachableTcpService(tcpPort);
+                    }
+                }
+                updateListener.partialDetectionResult(v);
+            }
+            checkIfFinished(currentDetection);
+        });
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of still pending
+     * checks are ignored.
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        if (executorService == null) {
+    private synchronized void submitFinalResult(CompletableFuture<Void> currentDetection) {
+        // Do nothing if we are not in this detection process
+        if (detection == null || detection != currentDetection) {
             return;
         }
         // Finish the detection process
-        executorService.shutdownNow();
-        executorService = null;
+        detection = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -320,6 +360,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
         cache.setValue(v);
         updateListener.finalDetectionResult(v);
+        currentDetection.complete(null);
     }
 
     /**
@@ -328,30 +369,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CompletableFuture<Void> currentDetection) {
+        if (detection != currentDetection) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
         }
-        submitFinalResult();
+        submitFinalResult(currentDetection);
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
-     * if no presence detection is performed right now.
+     * Waits for the presence detection checks to finish. Returns immediately
+     * if no presence detection is performed right now. This is called on a shared scheduler
+     * thread, therefore it waits at most for the timeout of the checks. Checks which are still
+     * waiting for a free thread of the probe engine by then count as not reachable.
      */
     public void waitForPresenceDetection() {
-        if (executorService == null) {
+        final CompletableFuture<Void> currentDetection = detection;
+        if (currentDetection == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            executorService.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            currentDetection.get(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            logger.debug("Presence detection for {} did not finish in time ({})", hostname,
+                    probeEngine.getStatistics());
+            submitFinalResult(currentDetection);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            executorService.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (detection == currentDetection) {
+                    detection = null;
+                    detectionChecks = 0;
+                }
+            }
         }
     }
 
@@ -380,20 +434,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Performs a non-blocking TCP connection attempt to the given port.
+     *
+     * @param tcpPort The TCP port
+     * @return A future completed with the latency in milliseconds or {@link #NOT_REACHABLE}
+     */
+    protected CompletableFuture<Double> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
-                v.addReachableTcpService(tcpPort);
-                updateListener.partialDetectionResult(v);
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+        return networkUtils.servicePingAsync(destination, tcpPort, timeoutInMS);
     }
 
     /**
@@ -403,8 +452,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
      */
-    protected void performARPping(String interfaceName) {
+    protected double performARPping(String interfaceName) {
         try {
             logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
             if (iosDevice) {
@@ -414,15 +464,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             double pingTime = System.nanoTime();
             if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, destination.getHostAddress(),
                     timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Reset interrupt flag
         }
+        return NOT_REACHABLE;
     }
 
     /**
@@ -430,35 +479,40 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * and will not work on windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
+     *
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
      */
-    protected void performJavaPing() {
+    protected double performJavaPing() {
         try {
             logger.trace("Perform java ping presence detection for {}", hostname);
             double pingTime = System.nanoTime();
             if (destination.isReachable(timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute a java ping for ip {}", hostname, e);
         }
+        return NOT_REACHABLE;
     }
 
-    protected void performSystemPing() {
+    /**
+     * Performs a ping with the native ping utility of the system.
+     *
+     * @return The latency in milliseconds or {@link #NOT_REACHABLE}
+     */
+    protected double performSystemPing() {
         try {
             logger.trace("Perform native ping presence detection for {}", hostname);
             double pingTime = System.nanoTime();
             if (networkUtils.nativePing(pingMethod, destination.getHostAddress(), timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
-                updateListener.partialDetectionResult(v);
+                return Math.round((System.nanoTime() - pingTime) / 1000000.0f);
             }
         } catch (IOException e) {
             logger.trace("Failed to execute a native ping for ip {}", hostname, e);
         } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
+            Thread.currentThread().interrupt(); // Reset interrupt flag
         }
+        return NOT_REACHABLE;
     }
 
     @Override
@@ -476,8 +530,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (refreshJob != null && !refreshJob.isDone()) {
             refreshJob.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
-                refreshIntervalInMS, TimeUnit.MILLISECONDS);
+        // Spread the detections of devices initialized at the same time. Only the first run is delayed randomly, the
+        // fixed delay keeps the detections spread afterwards
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true),
+                probeEngine.getStartDelay(refreshIntervalInMS), refreshIntervalInMS, TimeUnit.MILLISECONDS);
 
         enableDHCPListen(useDHCPsniffing);
     }
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProbeEngine} executes the individual presence probes (ICMP ping, ARP ping, TCP connection
+ * attempt) of all {@link PresenceDetection}s of the binding on a bounded pool of worker threads.
+ *
+ * Probes are identified by a key that contains everything that determines their result (type, host, port or
+ * interface, timeout). If a probe with the same key is already queued or running, no new probe is started but the
+ * result of the pending one is shared.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngine {
+    public static final int DEFAULT_MAXIMUM_THREADS = 20;
+    private static final long MAXIMUM_START_JITTER_IN_MS = 10000;
+    private static final int STATISTICS_LOG_INTERVAL = 1000;
+
+    private static PresenceProbeEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Double>> pendingProbes = new HashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalProbeTimeInMS = new AtomicLong();
+    private final AtomicLong maximumProbeTimeInMS = new AtomicLong();
+    private final AtomicLong totalQueueTimeInMS = new AtomicLong();
+
+    /**
+     * Returns the binding wide probe engine.
+     */
+    public static synchronized PresenceProbeEngine getInstance() {
+        if (instance == null) {
+            instance = create("networkProbe", DEFAULT_MAXIMUM_THREADS);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a probe engine with its own pool of worker threads, independent of the binding wide instance.
+     * Idle worker threads are terminated after a minute.
+     *
+     * @param threadName The name of the worker threads
+     * @param maximumThreads The maximum number of probes executed at the same time
+     */
+    public static PresenceProbeEngine create(String threadName, int maximumThreads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maximumThreads, maximumThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(threadName));
+        pool.allowCoreThreadTimeOut(true);
+        return new PresenceProbeEngine(pool);
+    }
+
+    /**
+     * Creates a probe engine which executes the probes on the given executor.
+     * Used by the binding wide instance and by tests for injecting.
+     */
+    PresenceProbeEngine(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Changes the maximum number of probes executed at the same time.
+     */
+    public void setMaximumThreads(int maximumThreads) {
+        if (maximumThreads < 1 || !(executor instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        if (maximumThreads > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(maximumThreads);
+            pool.setCorePoolSize(maximumThreads);
+        } else {
+            pool.setCorePoolSize(maximumThreads);
+            pool.setMaximumPoolSize(maximumThreads);
+        }
+    }
+
+    /**
+     * Queues a probe for execution, unless a probe with the same key is already queued or running.
+     *
+     * @param key The key identifying the probe and its parameters
+     * @param probe The probe. Returns the latency in milliseconds or {@link PresenceDetection#NOT_REACHABLE}.
+     * @return A future completed with the result of the probe.
+     */
+    public CompletableFuture<Double> submit(String key, DoubleSupplier probe) {
+        CompletableFuture<Double> future;
+        synchronized (pendingProbes) {
+            future = pendingProbes.get(key);
+            if (future != null) {
+                deduplicated.incrementAndGet();
+                logger.trace("Probe {} is already pending, sharing its result", key);
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pendingProbes.put(key, future);
+        }
+        submitted.incrementAndGet();
+
+        final CompletableFuture<Double> result = future;
+        final long queuedAt = System.currentTimeMillis();
+        int backlog = queued.incrementAndGet();
+        if (backlog > getMaximumThreads() && logger.isDebugEnabled()) {
+            logger.debug("Presence probe backlog: {} queued, {} running", backlog, running.get());
+        }
+
+        try {
+            executor.execute(() -> run(key, probe, result, queuedAt));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            finish(key, result, PresenceDetection.NOT_REACHABLE);
+        }
+        return result;
+    }
+
+    /**
+     * Starts a non-blocking probe, unless a probe with the same key is already queued or running.
+     * The probe does not occupy a worker thread of this engine.
+     *
+     * @param key The key identifying the probe and its parameters
+     * @param probe Starts the probe. The returned future is completed with the latency in milliseconds or
+     *            {@link PresenceDetection#NOT_REACHABLE}.
+     * @return A future completed with the result of the probe.
+     */
+    public CompletableFuture<Double> submitAsync(String key, Supplier<CompletableFuture<Double>> probe) {
+        CompletableFuture<Double> future;
+        synchronized (pendingProbes) {
+            future = pendingProbes.get(key);
+            if (future != null) {
+                deduplicated.incrementAndGet();
+                logger.trace("Probe {} is already pending, sharing its result", key);
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pendingProbes.put(key, future);
+        }
+        submitted.incrementAndGet();
+
+        final CompletableFuture<Double> result = future;
+        final long start = System.currentTimeMillis();
+        CompletableFuture<Double> started;
+        try {
+            started = probe.get();
+        } catch (RuntimeException e) {
+            logger.debug("Presence probe {} failed", key, e);
+            started = CompletableFuture.completedFuture(PresenceDetection.NOT_REACHABLE);
+        }
+        started.whenComplete((latency, e) -> {
+            completed(System.currentTimeMillis() - start);
+            finish(key, result, latency != null ? latency : PresenceDetection.NOT_REACHABLE);
+        });
+        return result;
+    }
+
+    /**
+     * Returns a random delay for the first presence detection of a device, so that devices
+     * initialized at the same time don't probe at the same time. The jitter only applies to the
+     * first detection: with a fixed delay between detections, devices with the same refresh
+     * interval stay apart by their initial offset.
+     *
+     * @param refreshIntervalInMS The refresh interval of the device
+     */
+    public long getStartDelay(long refreshIntervalInMS) {
+        long maximum = Math.min(refreshIntervalInMS, MAXIMUM_START_JITTER_IN_MS);
+        return maximum > 0 ? ThreadLocalRandom.current().nextLong(maximum) : 0;
+    }
+
+    private void run(String key, DoubleSupplier probe, CompletableFuture<Double> result, long queuedAt) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        long start = System.currentTimeMillis();
+        totalQueueTimeInMS.addAndGet(start - queuedAt);
+
+        double latency = PresenceDetection.NOT_REACHABLE;
+        try {
+            latency = probe.getAsDouble();
+        } catch (RuntimeException e) {
+            logger.debug("Presence probe {} failed", key, e);
+        } finally {
+            running.decrementAndGet();
+            completed(System.currentTimeMillis() - start);
+            finish(key, result, latency);
+        }
+    }
+
+    private void completed(long probeTime) {
+        totalProbeTimeInMS.addAndGet(probeTime);
+        maximumProbeTimeInMS.accumulateAndGet(probeTime, Math::max);
+
+        long count = completed.incrementAndGet();
+        if (count % STATISTICS_LOG_INTERVAL == 0 && logger.isDebugEnabled()) {
+            logger.debug("Presence probe statistics: {}", getStatistics());
+        }
+    }
+
+    private void finish(String key, CompletableFuture<Double> result, double latency) {
+        synchronized (pendingProbes) {
+            pendingProbes.remove(key, result);
+        }
+        result.complete(latency);
+    }
+
+    private int getMaximumThreads() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getMaximumPoolSize()
+                : DEFAULT_MAXIMUM_THREADS;
+    }
+
+    /**
+     * Return the number of probes waiting for a free worker thread.
+     */
+    public int getBacklog() {
+        return queued.get();
+    }
+
+    /**
+     * Return the number of probes currently executed.
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * Return the number of probes which shared the result of an already pending probe.
+     */
+    public long getDeduplicated() {
+        return deduplicated.get();
+    }
+
+    /**
+     * Return the average execution time of a probe in milliseconds.
+     */
+    public double getAverageProbeTime() {
+        long count = completed.get();
+        return count == 0 ? 0 : (double) totalProbeTimeInMS.get() / count;
+    }
+
+    /**
+     * Return the average time in milliseconds a probe waited for a free worker thread.
+     */
+    public double getAverageQueueTime() {
+        long count = completed.get();
+        return count == 0 ? 0 : (double) totalQueueTimeInMS.get() / count;
+    }
+
+    public String getStatistics() {
+        return String.format(
+                "submitted: %d, deduplicated: %d, completed: %d, queued: %d, running: %d, "
+                        + "average probe time: %.1f ms, maximum probe time: %d ms, average queue time: %.1f ms",
+                submitted.get(), deduplicated.get(), completed.get(), queued.get(), running.get(),
+                getAverageProbeTime(), maximumProbeTimeInMS.get(), getAverageQueueTime());
+    }
+}
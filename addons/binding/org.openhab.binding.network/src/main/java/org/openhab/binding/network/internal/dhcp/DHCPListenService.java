@@ -9,6 +9,7 @@
 package org.openhab.binding.network.internal.dhcp;
 
 import java.net.SocketException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -22,6 +23,7 @@ import org.slf4j.LoggerFactory;
  * after the receive socket is closed.
  * IPRequestReceivedCallback will be called for the address that is registered and matches the
  * DHO_DHCP_REQUESTED_ADDRESS address field.
+ * The time of the last request of the most recent addresses is kept, independent of registered listeners.
  *
  * @author David Graeff - Initial contribution
  */
@@ -29,11 +31,25 @@ public class DHCPListenService {
     static DHCPPacketListenerServer instance;
     static Map<String, IPRequestReceivedCallback> registeredListeners = new TreeMap<>();
     static Logger logger = LoggerFactory.getLogger(DHCPListenService.class);
+    static final int MAXIMUM_RECENT_REQUESTS = 1024;
+    static Map<String, Long> recentRequests = new LinkedHashMap<String, Long>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAXIMUM_RECENT_REQUESTS;
+        }
+    };
 
     public static synchronized DHCPPacketListenerServer register(String hostAddress,
             IPRequestReceivedCallback dhcpListener) throws SocketException {
         if (instance == null) {
             instance = new DHCPPacketListenerServer((String ipAddress) -> {
+                synchronized (recentRequests) {
+                    // Remove first, so that the address moves to the end of the eviction order
+                    recentRequests.remove(ipAddress);
+                    recentRequests.put(ipAddress, System.currentTimeMillis());
+                }
                 IPRequestReceivedCallback listener = registeredListeners.get(ipAddress);
                 if (listener != null) {
                     listener.dhcpRequestReceived(ipAddress);
@@ -49,6 +65,21 @@ public class DHCPListenService {
         return instance;
     }
 
+    /**
+     * Return true if a DHCP request for the given address has been received within the given time.
+     * Requests are only received while at least one IPRequestReceivedCallback is registered.
+     *
+     * @param hostAddress The IPv4 address
+     * @param maximumAgeInMS The time in milliseconds
+     */
+    public static boolean isRecentlyRequested(String hostAddress, long maximumAgeInMS) {
+        Long lastRequest;
+        synchronized (recentRequests) {
+            lastRequest = recentRequests.get(hostAddress);
+        }
+        return lastRequest != null && System.currentTimeMillis() - lastRequest <= maximumAgeInMS;
+    }
+
     public static void unregister(String hostAddress) {
         synchronized (registeredListeners) {
             registeredListeners.remove(hostAddress);
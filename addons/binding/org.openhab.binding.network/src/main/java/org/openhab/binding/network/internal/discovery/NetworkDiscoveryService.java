@@ -15,9 +15,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.config.discovery.AbstractDiscoveryService;
@@ -28,7 +28,10 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
+import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.SubnetSweep;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -43,13 +46,23 @@ import com.google.common.collect.Sets;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * The addresses are swept on demand. The number of hosts probed at the same time and the number of
+ * probes per second are limited, results are published as soon as a host answers. The probes are executed
+ * by a separate {@link PresenceProbeEngine}, so that a scan does not delay the presence detection of things.
+ *
  * @author David Graeff - Rewritten
  * @author Marc Mettke - Initial contribution
  */
 @Component(service = DiscoveryService.class, immediate = true, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
+    // Larger networks are not swept completely: at MAXIMUM_PROBES_PER_SECOND a /16 would take more than half an hour
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_CONCURRENT_HOSTS = 64;
+    static final int MAXIMUM_PROBE_THREADS = 8;
+    static final int MAXIMUM_PROBES_PER_SECOND = 200;
+    static final long DHCP_RECENTLY_SEEN_IN_MS = TimeUnit.MINUTES.toMillis(2);
+    private static final long SWEEP_INTERVAL_IN_MS = 100;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -57,14 +70,19 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcp_service_ports = Sets.newHashSet(80, 548, 554, 1025);
-    private Integer scannedIPcount;
-    private ExecutorService executorService = null;
+    private ScheduledFuture<?> sweepJob;
+    private SubnetSweep sweep;
+    private int probesPerHost;
+    private final AtomicInteger pendingHosts = new AtomicInteger();
+    private int scannedIPcount;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private final PresenceProbeEngine probeEngine = PresenceProbeEngine.create("networkDiscovery",
+            MAXIMUM_PROBE_THREADS);
     NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
+                new NetworkUtils().getNetworkIPCount(MAXIMUM_IPS_PER_INTERFACE) * (PING_TIMEOUT_IN_MS / 1000.0)),
                 false);
     }
 
@@ -106,24 +124,55 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
     @Override
     public void finalDetectionResult(PresenceDetectionValue value) {
+        pendingHosts.decrementAndGet();
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the sweep over each IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService != null) {
+    protected synchronized void startScan() {
+        if (sweepJob != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        sweep = networkUtils.getNetworkIPSweep(MAXIMUM_IPS_PER_INTERFACE);
+        // ICMP ping, one ARP ping per interface and the TCP ports
+        probesPerHost = 1 + networkUtils.getInterfaceNames().size() + tcp_service_ports.size();
         scannedIPcount = 0;
+        pendingHosts.set(0);
+
+        // Devices in the neighbour table of the operating system are found without sending a single packet
+        for (String ip : networkUtils.getArpTableAddresses()) {
+            if (sweep.contains(ip)) {
+                newPingDevice(ip);
+            }
+        }
+
+        sweepJob = scheduler.scheduleWithFixedDelay(this::sweep, 0, SWEEP_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts the presence detection for the next addresses of the sweep, as long as the maximum number of
+     * concurrently probed hosts and probes per second is not reached.
+     */
+    private synchronized void sweep() {
+        if (sweep == null) {
+            return;
+        }
+        long probes = MAXIMUM_PROBES_PER_SECOND * SWEEP_INTERVAL_IN_MS / 1000;
+        while (probes > 0 && pendingHosts.get() < MAXIMUM_CONCURRENT_HOSTS && sweep.hasNext()) {
+            String ip = sweep.next();
+            scannedIPcount++;
+
+            // A device which requested its address recently is present, there is no need to probe it
+            if (DHCPListenService.isRecentlyRequested(ip, DHCP_RECENTLY_SEEN_IN_MS)) {
+                newPingDevice(ip);
+                continue;
+            }
 
-        for (String ip : networkIPs) {
             final PresenceDetection s = new PresenceDetection(this, 2000);
             try {
                 s.setHostname(ip);
@@ -134,40 +183,35 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
             s.setTimeout(PING_TIMEOUT_IN_MS);
+            s.setProbeEngine(probeEngine);
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath);
             // TCP devices
             s.setServicePorts(tcp_service_ports);
 
-            executorService.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
-            });
+            pendingHosts.incrementAndGet();
+            probes -= probesPerHost;
+            if (!s.performPresenceDetection(false)) {
+                pendingHosts.decrementAndGet();
+            }
+        }
+
+        if (!sweep.hasNext() && pendingHosts.get() == 0) {
+            logger.trace("Scan of {} IPs successful", scannedIPcount);
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        if (executorService == null) {
+        if (sweepJob == null) {
             return;
         }
-
-        try {
-            executorService.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        executorService.shutdown();
-        executorService = null;
+        sweepJob.cancel(false);
+        sweepJob = null;
+        sweep = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
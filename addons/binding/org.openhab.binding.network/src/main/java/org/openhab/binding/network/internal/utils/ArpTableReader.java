@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the IPv4 neighbour table of the operating system (ARP cache) from /proc/net/arp on Linux. The kernel
+ * fills this table with every device the host exchanged packets with, so devices can be found without sending
+ * a single packet.
+ *
+ * Be aware that an entry only states that the device answered an ARP request in the past. The kernel keeps
+ * stale entries for an undefined amount of time.
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpTableReader {
+    public static final String PROC_NET_ARP = "/proc/net/arp";
+    private static final long DEFAULT_MAXIMUM_AGE_IN_MS = 1000;
+    // Flag of completed entries, see include/uapi/linux/if_arp.h
+    private static final int ATF_COM = 0x02;
+    private static final String INCOMPLETE_MAC = "00:00:00:00:00:00";
+
+    private final Logger logger = LoggerFactory.getLogger(ArpTableReader.class);
+
+    private final Path path;
+    private final long maximumAgeInNS;
+
+    private Map<String, String> entries = Collections.emptyMap();
+    private long readAt;
+    private boolean read;
+
+    public ArpTableReader() {
+        this(Paths.get(PROC_NET_ARP), DEFAULT_MAXIMUM_AGE_IN_MS);
+    }
+
+    /**
+     * Creates a reader for the given file.
+     *
+     * @param path The file in the format of /proc/net/arp
+     * @param maximumAgeInMS The time the content of the file is reused before it is read again
+     */
+    public ArpTableReader(Path path, long maximumAgeInMS) {
+        this.path = path;
+        this.maximumAgeInNS = TimeUnit.MILLISECONDS.toNanos(maximumAgeInMS);
+    }
+
+    /**
+     * Return true if the neighbour table can be read on this system.
+     */
+    public boolean isAvailable() {
+        return Files.isReadable(path);
+    }
+
+    /**
+     * Return the completed entries of the neighbour table, the IPv4 address mapped to the MAC address.
+     * Returns an empty map if the table is not available.
+     */
+    public synchronized Map<String, String> getEntries() {
+        long now = System.nanoTime();
+        if (!read || now - readAt >= maximumAgeInNS) {
+            entries = Collections.unmodifiableMap(readEntries());
+            readAt = now;
+            read = true;
+        }
+        return entries;
+    }
+
+    /**
+     * Return true if the neighbour table contains a completed entry for the given IPv4 address.
+     */
+    public boolean contains(String ipV4address) {
+        return getEntries().containsKey(ipV4address);
+    }
+
+    private Map<String, String> readEntries() {
+        Map<String, String> result = new HashMap<>();
+        if (!isAvailable()) {
+            return result;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            // Skip the header line: IP address HW type Flags HW address Mask Device
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length < 4) {
+                    continue;
+                }
+                int flags;
+                try {
+                    flags = Integer.decode(columns[2]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if ((flags & ATF_COM) == 0 || INCOMPLETE_MAC.equals(columns[3])) {
+                    continue;
+                }
+                result.put(columns[0], columns[3]);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read the neighbour table {}: {}", path, e.getMessage());
+        }
+        return result;
+    }
+}
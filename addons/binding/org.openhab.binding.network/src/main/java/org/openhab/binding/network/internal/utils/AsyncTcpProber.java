@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.network.internal.PresenceDetection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts with non-blocking socket channels. A single selector thread handles all
+ * connection attempts in flight, so many hosts and ports can be probed at the same time without a thread per
+ * attempt.
+ *
+ * The number of connection attempts in flight is limited to not run out of file descriptors. Further attempts
+ * are queued and their timeout starts when they are actually started. The selector thread terminates if it has
+ * been idle for a while and is restarted with the next connection attempt. The results are completed on an
+ * executor, so the actions depending on them don't run on and hold up the selector thread.
+ *
+ * @author agent - Initial contribution
+ */
+public class AsyncTcpProber implements Runnable {
+    public static final int DEFAULT_MAXIMUM_IN_FLIGHT = 1000;
+    private static final long IDLE_TIMEOUT_IN_MS = 60000;
+    private static final String THREAD_POOL_NAME = "networkTcpProber";
+
+    private static AsyncTcpProber instance;
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncTcpProber.class);
+
+    private final int maximumInFlight;
+    private final Executor executor;
+    private final Queue<Probe> submittedProbes = new ConcurrentLinkedQueue<>();
+
+    // Only accessed by the selector thread
+    private final Deque<Probe> waitingProbes = new ArrayDeque<>();
+    private final PriorityQueue<Probe> runningProbes = new PriorityQueue<>(
+            Comparator.comparingLong(probe -> probe.deadline));
+
+    private Selector selector;
+    private Thread thread;
+
+    private static class Probe {
+        final InetSocketAddress address;
+        final int timeoutInMS;
+        final CompletableFuture<Double> result = new CompletableFuture<>();
+        long start;
+        long deadline;
+        SocketChannel channel;
+
+        Probe(InetSocketAddress address, int timeoutInMS) {
+            this.address = address;
+            this.timeoutInMS = timeoutInMS;
+        }
+    }
+
+    /**
+     * Returns the binding wide TCP prober.
+     */
+    public static synchronized AsyncTcpProber getInstance() {
+        if (instance == null) {
+            instance = new AsyncTcpProber(DEFAULT_MAXIMUM_IN_FLIGHT);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a prober, which completes the results on a shared thread pool.
+     *
+     * @param maximumInFlight The maximum number of connection attempts at the same time.
+     */
+    public AsyncTcpProber(int maximumInFlight) {
+        this(maximumInFlight, ThreadPoolManager.getPool(THREAD_POOL_NAME));
+    }
+
+    /**
+     * Creates a prober.
+     *
+     * @param maximumInFlight The maximum number of connection attempts at the same time.
+     * @param executor The executor to complete the results on.
+     */
+    public AsyncTcpProber(int maximumInFlight, Executor executor) {
+        this.maximumInFlight = Math.max(1, maximumInFlight);
+        this.executor = executor;
+    }
+
+    /**
+     * Try to establish a tcp connection to the given address. The connection is closed immediately after it
+     * has been established.
+     *
+     * @param address The IP and tcp port
+     * @param timeoutInMS Timeout in ms
+     * @return A future completed with the time in milliseconds it took to establish the connection or with
+     *         {@link PresenceDetection#NOT_REACHABLE} if a timeout occurred or the connection was denied.
+     */
+    public CompletableFuture<Double> probe(InetSocketAddress address, int timeoutInMS) {
+        Probe probe = new Probe(address, timeoutInMS);
+        submittedProbes.add(probe);
+        synchronized (this) {
+            if (thread == null) {
+                try {
+                    selector = Selector.open();
+                } catch (IOException e) {
+                    logger.warn("Could not open a selector for tcp connection attempts", e);
+                    submittedProbes.remove(probe);
+                    probe.result.complete(PresenceDetection.NOT_REACHABLE);
+                    return probe.result;
+                }
+                thread = new Thread(this, "networkTcpProber");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                selector.wakeup();
+            }
+        }
+        return probe.result;
+    }
+
+    @Override
+    public void run() {
+        long idleSince = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Probe probe;
+                while ((probe = submittedProbes.poll()) != null) {
+                    waitingProbes.add(probe);
+                }
+                while (runningProbes.size() < maximumInFlight && !waitingProbes.isEmpty()) {
+                    start(waitingProbes.poll());
+                }
+
+                if (runningProbes.isEmpty()) {
+                    if (System.nanoTime() - idleSince >= TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_IN_MS)
+                            && terminateIfIdle()) {
+                        return;
+                    }
+                    selector.select(IDLE_TIMEOUT_IN_MS);
+                    continue;
+                }
+
+                long timeout = TimeUnit.NANOSECONDS.toMillis(runningProbes.peek().deadline - System.nanoTime());
+                if (timeout > 0) {
+                    selector.select(timeout);
+                } else {
+                    selector.selectNow();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    finishConnect((Probe) key.attachment());
+                }
+
+                long now = System.nanoTime();
+                while (!runningProbes.isEmpty() && runningProbes.peek().deadline <= now) {
+                    complete(runningProbes.poll(), PresenceDetection.NOT_REACHABLE);
+                }
+                idleSince = now;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("The tcp connection prober failed", e);
+        }
+        terminate();
+    }
+
+    private void start(Probe probe) {
+        probe.start = System.nanoTime();
+        probe.deadline = probe.start + TimeUnit.MILLISECONDS.toNanos(probe.timeoutInMS);
+        try {
+            probe.channel = SocketChannel.open();
+            probe.channel.configureBlocking(false);
+            if (probe.channel.connect(probe.address)) {
+                complete(probe, latency(probe));
+                return;
+            }
+            probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            runningProbes.add(probe);
+        } catch (IOException | UnresolvedAddressException e) {
+            logger.trace("Could not connect to {}: {}", probe.address, e.getMessage());
+            complete(probe, PresenceDetection.NOT_REACHABLE);
+        }
+    }
+
+    private void finishConnect(Probe probe) {
+        runningProbes.remove(probe);
+        try {
+            if (probe.channel.finishConnect()) {
+                complete(probe, latency(probe));
+            } else {
+                runningProbes.add(probe);
+            }
+            return;
+        } catch (IOException e) {
+            // Connection refused, no route to host etc.
+            logger.trace("Could not connect to {}: {}", probe.address, e.getMessage());
+        }
+        complete(probe, PresenceDetection.NOT_REACHABLE);
+    }
+
+    private void complete(Probe probe, double latency) {
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        try {
+            executor.execute(() -> completeResult(probe, latency));
+        } catch (RejectedExecutionException e) {
+            completeResult(probe, latency);
+        }
+    }
+
+    private void completeResult(Probe probe, double latency) {
+        try {
+            probe.result.complete(latency);
+        } catch (RuntimeException e) {
+            logger.debug("Handling the result of the tcp connection attempt to {} failed", probe.address, e);
+        }
+    }
+
+    private static double latency(Probe probe) {
+        return Math.round((System.nanoTime() - probe.start) / 1000000.0f);
+    }
+
+    /**
+     * Terminates the selector thread, if no new connection attempts have been submitted in the meantime.
+     */
+    private synchronized boolean terminateIfIdle() {
+        if (!submittedProbes.isEmpty()) {
+            return false;
+        }
+        closeSelector();
+        thread = null;
+        return true;
+    }
+
+    /**
+     * Terminates the selector thread and completes all connection attempts not finished yet.
+     */
+    private synchronized void terminate() {
+        Probe probe;
+        while ((probe = runningProbes.poll()) != null) {
+            complete(probe, PresenceDetection.NOT_REACHABLE);
+        }
+        while ((probe = waitingProbes.poll()) != null) {
+            complete(probe, PresenceDetection.NOT_REACHABLE);
+        }
+        while ((probe = submittedProbes.poll()) != null) {
+            complete(probe, PresenceDetection.NOT_REACHABLE);
+        }
+        closeSelector();
+        thread = null;
+    }
+
+    private void closeSelector() {
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Stops the selector thread. Connection attempts in flight are completed as not reachable.
+     */
+    public synchronized void shutdown() {
+        if (thread != null) {
+            thread.interrupt();
+            selector.wakeup();
+        }
+    }
+}
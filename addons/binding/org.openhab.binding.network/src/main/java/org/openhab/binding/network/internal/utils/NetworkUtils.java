@@ -29,11 +29,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
 import org.apache.commons.net.util.SubnetUtils;
 import org.eclipse.smarthome.io.net.exec.ExecUtil;
+import org.openhab.binding.network.internal.PresenceDetection;
 
 /**
  * Network utility functions for pinging and for determining all interfaces and assigned IP addresses.
@@ -41,6 +43,8 @@ import org.eclipse.smarthome.io.net.exec.ExecUtil;
  * @author David Graeff <david.graeff@web.de>
  */
 public class NetworkUtils {
+    private static final ArpTableReader ARP_TABLE = new ArpTableReader();
+
     /**
      * Gets every IPv4 Address on each Interface except the loopback
      * The Address format is ip/subnet
@@ -145,6 +149,26 @@ public class NetworkUtils {
         return networkIPs;
     }
 
+    /**
+     * Return a sweep over every IPv4 address which can be assigned on all available interfaces.
+     * In contrast to {@link #getNetworkIPs(int)} the addresses are generated on demand.
+     *
+     * @param maximumPerInterface The maximum of IP addresses per interface or 0 to get all.
+     */
+    public SubnetSweep getNetworkIPSweep(int maximumPerInterface) {
+        return new SubnetSweep(getInterfaceIPs(), maximumPerInterface);
+    }
+
+    /**
+     * Return the number of IPv4 addresses which can be assigned on all available interfaces.
+     * The addresses themselves are not generated.
+     *
+     * @param maximumPerInterface The maximum of IP addresses per interface or 0 to count all.
+     */
+    public long getNetworkIPCount(int maximumPerInterface) {
+        return getNetworkIPSweep(maximumPerInterface).size();
+    }
+
     /**
      * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
      * or the connection was denied.
@@ -166,6 +190,28 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given port without blocking the calling thread.
+     * See {@link AsyncTcpProber}.
+     *
+     * @param address The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeout Timeout in ms
+     * @return A future completed with the latency in ms or {@link PresenceDetection#NOT_REACHABLE} if a timeout
+     *         occurred or the connection was denied.
+     */
+    public CompletableFuture<Double> servicePingAsync(InetAddress address, int port, int timeout) {
+        return AsyncTcpProber.getInstance().probe(new InetSocketAddress(address, port), timeout);
+    }
+
+    /**
+     * Return the IPv4 addresses of the neighbour table (ARP cache) of the operating system.
+     * Only available on Linux, an empty set is returned otherwise. See {@link ArpTableReader}.
+     */
+    public Set<String> getArpTableAddresses() {
+        return ARP_TABLE.getEntries().keySet();
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
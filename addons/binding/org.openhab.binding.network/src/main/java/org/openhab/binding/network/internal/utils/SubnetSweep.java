@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over every IPv4 host address of the given networks. The addresses are generated on demand,
+ * so even large networks don't need to be kept in memory.
+ *
+ * The host addresses of a network are all addresses except the network and the broadcast address.
+ * Overlapping networks are only iterated once.
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetSweep implements Iterator<String> {
+    private final List<long[]> ranges = new ArrayList<>();
+    private final long size;
+
+    private int rangeIndex;
+    private long next;
+
+    /**
+     * Creates a sweep over the given networks.
+     *
+     * @param interfaceIPs The IPs which are assigned to the network interfaces in the format ip/prefix length,
+     *            like returned by {@link NetworkUtils#getInterfaceIPs()}. IPv6 addresses are ignored.
+     * @param maximumPerInterface The maximum of IP addresses per interface or 0 to get all.
+     */
+    public SubnetSweep(Iterable<String> interfaceIPs, int maximumPerInterface) {
+        for (String interfaceIP : interfaceIPs) {
+            long[] range = toRange(interfaceIP, maximumPerInterface);
+            if (range != null && !overlaps(range)) {
+                ranges.add(range);
+            }
+        }
+        long count = 0;
+        for (long[] range : ranges) {
+            count += range[1] - range[0] + 1;
+        }
+        size = count;
+        next = ranges.isEmpty() ? 0 : ranges.get(0)[0];
+    }
+
+    /**
+     * Return the total number of addresses of this sweep.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return true if the given IPv4 address is part of this sweep.
+     */
+    public boolean contains(String ipV4address) {
+        long address = toLong(ipV4address);
+        if (address < 0) {
+            return false;
+        }
+        for (long[] range : ranges) {
+            if (address >= range[0] && address <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rangeIndex < ranges.size();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long address = next;
+        if (address < ranges.get(rangeIndex)[1]) {
+            next = address + 1;
+        } else {
+            rangeIndex++;
+            if (rangeIndex < ranges.size()) {
+                next = ranges.get(rangeIndex)[0];
+            }
+        }
+        return toString(address);
+    }
+
+    private boolean overlaps(long[] range) {
+        for (long[] other : ranges) {
+            if (range[0] <= other[1] && other[0] <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] toRange(String interfaceIP, int maximumPerInterface) {
+        int separator = interfaceIP.indexOf('/');
+        if (separator < 0) {
+            return null;
+        }
+        long address = toLong(interfaceIP.substring(0, separator));
+        int prefixLength;
+        try {
+            prefixLength = Integer.parseInt(interfaceIP.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // Point to point networks (/31) and single addresses (/32) have no host addresses to scan
+        if (address < 0 || prefixLength < 1 || prefixLength > 30) {
+            return null;
+        }
+        long mask = (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+        long first = (address & mask) + 1;
+        long last = (address | (~mask & 0xFFFFFFFFL)) - 1;
+        if (maximumPerInterface > 0 && last - first + 1 > maximumPerInterface) {
+            last = first + maximumPerInterface - 1;
+        }
+        return new long[] { first, last };
+    }
+
+    /**
+     * Converts a dotted IPv4 address to a number. Returns -1 if the address is not a valid IPv4 address.
+     */
+    private static long toLong(String ipV4address) {
+        String[] parts = ipV4address.split("\\.");
+        if (parts.length != 4) {
+            return -1;
+        }
+        long result = 0;
+        for (String part : parts) {
+            int value;
+            try {
+                value = Integer.parseInt(part);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+            if (value < 0 || value > 255) {
+                return -1;
+            }
+            result = result << 8 | value;
+        }
+        return result;
+    }
+
+    private static String toString(long address) {
+        return ((address >> 24) & 0xFF) + "." + ((address >> 16) & 0xFF) + "." + ((address >> 8) & 0xFF) + "."
+                + (address & 0xFF);
+    }
+}
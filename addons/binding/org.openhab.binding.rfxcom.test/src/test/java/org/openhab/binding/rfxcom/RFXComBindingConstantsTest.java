@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.rfxcom.RFXComBindingConstants.*;
+
+import java.util.Map.Entry;
+
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+
+/**
+ * Test for the mapping between RFXCOM packet types and thing types.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComBindingConstantsTest {
+
+    @Test
+    public void testEveryThingTypeMapsBackToItsPacketType() {
+        assertEquals(PACKET_TYPE_THING_TYPE_UID_MAP.size(), THING_TYPE_UID_PACKET_TYPE_MAP.size());
+
+        for (Entry<PacketType, ThingTypeUID> entry : PACKET_TYPE_THING_TYPE_UID_MAP.entrySet()) {
+            assertEquals("Wrong packet type for " + entry.getValue(), entry.getKey(),
+                    THING_TYPE_UID_PACKET_TYPE_MAP.get(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void testEverySupportedDeviceThingTypeHasAPacketType() {
+        for (ThingTypeUID thingTypeUID : SUPPORTED_DEVICE_THING_TYPES_UIDS) {
+            assertNotNull("No packet type for " + thingTypeUID, THING_TYPE_UID_PACKET_TYPE_MAP.get(thingTypeUID));
+        }
+    }
+
+    @Test
+    public void testThingTypeIdsDifferentFromPacketTypeNames() {
+        assertEquals(PacketType.BBQ, THING_TYPE_UID_PACKET_TYPE_MAP.get(THING_TYPE_BBQ_TEMPERATURE));
+        assertEquals(PacketType.UNDECODED_RF_MESSAGE, THING_TYPE_UID_PACKET_TYPE_MAP.get(THING_TYPE_UNDECODED));
+    }
+}
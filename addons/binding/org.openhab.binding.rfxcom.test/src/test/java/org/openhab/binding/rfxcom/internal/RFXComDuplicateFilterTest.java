@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+
+/**
+ * Test for RFXCom-binding
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComDuplicateFilterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RFXComDuplicateFilter filter = new RFXComDuplicateFilter(500);
+
+    private boolean isDuplicate(String deviceId, String hexMsg, long nanoTime) {
+        return filter.isDuplicate(PacketType.TEMPERATURE, deviceId, HexUtils.hexToBytes(hexMsg), nanoTime);
+    }
+
+    @Test
+    public void testRepeatedMessage() {
+        assertFalse(isDuplicate("1", "08500110000180BC69", 0));
+        // different sequence number and signal level
+        assertTrue(isDuplicate("1", "08500111000180BC59", SECOND / 10));
+        assertTrue(isDuplicate("1", "08500112000180BC69", SECOND / 5));
+    }
+
+    @Test
+    public void testChangedMessage() {
+        assertFalse(isDuplicate("1", "08500110000180BC69", 0));
+        assertFalse(isDuplicate("1", "08500111000180BD69", SECOND / 10));
+        assertFalse(isDuplicate("2", "08500112000280BD69", SECOND / 10));
+    }
+
+    @Test
+    public void testWindowExpired() {
+        assertFalse(isDuplicate("1", "08500110000180BC69", 0));
+        assertTrue(isDuplicate("1", "08500111000180BC69", SECOND / 4));
+        assertFalse(isDuplicate("1", "08500112000180BC69", SECOND));
+    }
+
+    @Test
+    public void testDisabled() {
+        RFXComDuplicateFilter disabled = new RFXComDuplicateFilter(0);
+        byte[] packet = HexUtils.hexToBytes("08500110000180BC69");
+
+        assertFalse(disabled.isDuplicate(PacketType.TEMPERATURE, "1", packet, 0));
+        assertFalse(disabled.isDuplicate(PacketType.TEMPERATURE, "1", packet, 1));
+    }
+}
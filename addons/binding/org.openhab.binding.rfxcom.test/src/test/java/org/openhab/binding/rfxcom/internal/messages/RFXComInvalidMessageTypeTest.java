@@ -25,4 +25,9 @@ public class RFXComInvalidMessageTypeTest {
         byte[] message = HexUtils.hexToBytes("07CC01271356ECC0");
         final RFXComMessage msg = RFXComMessageFactory.createMessage(message);
     }
+
+    @Test(expected = RFXComException.class)
+    public void testTruncatedMessage() throws RFXComException {
+        RFXComMessageFactory.createMessage(HexUtils.hexToBytes("0850011000"));
+    }
 }
@@ -14,6 +14,7 @@ import static org.openhab.binding.rfxcom.internal.messages.RFXComTemperatureMess
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.junit.Test;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnknownChannelException;
 
 /**
  * Test for RFXCom-binding
@@ -45,4 +46,11 @@ public class RFXComTemperatureMessageTest {
         testMessage("0850091A00C3800689", TEMP9, 26, "195", -0.6d, 8, 9);
         testMessage("0850097200C300E089", TEMP9, 114, "195", 22.4d, 8, 9);
     }
+
+    @Test(expected = RFXComUnknownChannelException.class)
+    public void testUnknownChannel() throws RFXComException {
+        final RFXComTemperatureMessage msg = (RFXComTemperatureMessage) RFXComMessageFactory
+                .createMessage(HexUtils.hexToBytes("08500110000180BC69"));
+        msg.convertToState("rainrate");
+    }
 }
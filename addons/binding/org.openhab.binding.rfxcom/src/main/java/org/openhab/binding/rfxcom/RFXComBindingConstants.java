@@ -15,6 +15,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 
+import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
@@ -211,4 +212,10 @@ public class RFXComBindingConstants {
             .put(PacketType.WATER, RFXComBindingConstants.THING_TYPE_WATER_USAGE)
             .put(PacketType.WEIGHT, RFXComBindingConstants.THING_TYPE_WEIGHTING_SCALE)
             .put(PacketType.WIND, RFXComBindingConstants.THING_TYPE_WIND).build();
+
+    /**
+     * Map RFXCOM Thing types to RFXCOM packet types, the reverse of {@link #PACKET_TYPE_THING_TYPE_UID_MAP}.
+     */
+    public static final Map<ThingTypeUID, PacketType> THING_TYPE_UID_PACKET_TYPE_MAP = ImmutableBiMap
+            .copyOf(PACKET_TYPE_THING_TYPE_UID_MAP).inverse();
 }
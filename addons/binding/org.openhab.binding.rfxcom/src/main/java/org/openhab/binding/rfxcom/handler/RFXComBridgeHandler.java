@@ -9,10 +9,14 @@
 package org.openhab.binding.rfxcom.handler;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -26,6 +30,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.RFXComDuplicateFilter;
 import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
 import org.openhab.binding.rfxcom.internal.connector.RFXComConnectorInterface;
 import org.openhab.binding.rfxcom.internal.connector.RFXComEventListener;
@@ -35,6 +40,7 @@ import org.openhab.binding.rfxcom.internal.connector.RFXComTcpConnector;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceControlMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
@@ -63,46 +69,152 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners for the messages of a single device, by packet type and device id.
+     */
+    private Map<PacketType, Map<String, List<DeviceMessageListener>>> deviceListeners = new ConcurrentHashMap<>();
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
+    /**
+     * Queue of the messages to transmit. The head of the queue is the message being transmitted, it is removed when
+     * the transceiver acknowledges it. Messages are transmitted at least the configured transmit interval apart and a
+     * message is dropped if the same transmission for the same device is already pending.
+     */
     private class TransmitQueue {
-        private Queue<RFXComBaseMessage> queue = new LinkedBlockingQueue<>();
+        private Deque<PendingMessage> queue = new LinkedList<>();
+        // System.nanoTime() has an arbitrary origin, so the time of the last transmission is only valid once set
+        private boolean transmitted;
+        private long lastTransmitNanos;
+        private ScheduledFuture<?> delayedSend;
 
         public synchronized void enqueue(RFXComBaseMessage msg) throws IOException {
+            PendingMessage pending = new PendingMessage(msg);
+
+            if (isPending(pending)) {
+                logger.debug("Dropped message '{}', the same message for device '{}' is already pending", msg,
+                        pending.deviceId);
+                return;
+            }
             boolean wasEmpty = queue.isEmpty();
-            if (queue.offer(msg)) {
-                if (wasEmpty) {
-                    send();
-                }
-            } else {
-                logger.error("Transmit queue overflow. Lost message: {}", msg);
+            queue.add(pending);
+            if (wasEmpty) {
+                send();
             }
         }
 
         public synchronized void sendNext() throws IOException {
-            queue.poll();
+            PendingMessage acknowledged = queue.poll();
+            if (acknowledged != null) {
+                logger.debug("Message '{}' acknowledged {} ms after it was queued", acknowledged.msg,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acknowledged.queuedNanos));
+            }
             send();
         }
 
         public synchronized void send() throws IOException {
             while (!queue.isEmpty()) {
-                RFXComBaseMessage msg = queue.peek();
+                PendingMessage pending = queue.peek();
+                long delayNanos = transmitted
+                        ? lastTransmitNanos + TimeUnit.MILLISECONDS.toNanos(getTransmitInterval()) - System.nanoTime()
+                        : 0;
 
+                if (delayNanos > 0) {
+                    scheduleSend(delayNanos);
+                    break;
+                }
                 try {
-                    logger.debug("Transmitting message '{}'", msg);
-                    byte[] data = msg.decodeMessage();
+                    logger.debug("Transmitting message '{}' after {} ms in queue", pending.msg,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.queuedNanos));
+                    byte[] data = pending.msg.decodeMessage();
                     connector.sendMessage(data);
+                    lastTransmitNanos = System.nanoTime();
+                    transmitted = true;
                     break;
                 } catch (RFXComException rfxe) {
-                    logger.error("Error during send of {}", msg, rfxe);
+                    logger.error("Error during send of {}", pending.msg, rfxe);
                     queue.poll();
                 }
             }
         }
+
+        public synchronized void clear() {
+            queue.clear();
+            if (delayedSend != null) {
+                delayedSend.cancel(false);
+                delayedSend = null;
+            }
+        }
+
+        /**
+         * Checks whether a message for the same device which transmits the same bytes is pending, the message being
+         * transmitted is not taken into account. Messages with a different content are never collapsed, so that the
+         * order of a sequence of commands is kept.
+         */
+        private boolean isPending(PendingMessage pending) {
+            if (pending.deviceId == null) {
+                return false;
+            }
+            byte[] data;
+            try {
+                data = pending.msg.decodeMessage();
+            } catch (RFXComException e) {
+                return false;
+            }
+            Iterator<PendingMessage> iterator = queue.iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+            }
+            while (iterator.hasNext()) {
+                PendingMessage queued = iterator.next();
+
+                if (queued.packetType == pending.packetType && pending.deviceId.equals(queued.deviceId)) {
+                    try {
+                        if (Arrays.equals(data, queued.msg.decodeMessage())) {
+                            return true;
+                        }
+                    } catch (RFXComException e) {
+                        // The queued message can't be transmitted, it is removed when it is sent
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void scheduleSend(long delayNanos) {
+            if (delayedSend == null || delayedSend.isDone()) {
+                delayedSend = scheduler.schedule(() -> {
+                    try {
+                        send();
+                    } catch (IOException e) {
+                        logger.error("I/O Error", e);
+                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+                    }
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private int getTransmitInterval() {
+            return configuration == null ? 0 : configuration.transmitInterval;
+        }
+    }
+
+    private static class PendingMessage {
+        private final PacketType packetType;
+        private final String deviceId;
+        private final long queuedNanos = System.nanoTime();
+        private final RFXComBaseMessage msg;
+
+        private PendingMessage(RFXComBaseMessage msg) {
+            this.msg = msg;
+            this.packetType = msg.getPacketType();
+            this.deviceId = msg instanceof RFXComDeviceMessage ? ((RFXComDeviceMessage<?>) msg).getDeviceId() : null;
+        }
     }
 
     private TransmitQueue transmitQueue = new TransmitQueue();
+    private RFXComDuplicateFilter duplicateFilter = new RFXComDuplicateFilter(0);
 
     public RFXComBridgeHandler(@NonNull Bridge br) {
         super(br);
@@ -120,6 +232,8 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceListeners.clear();
+        transmitQueue.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -141,6 +255,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         updateStatus(ThingStatus.OFFLINE);
 
         configuration = getConfigAs(RFXComBridgeConfiguration.class);
+        duplicateFilter = new RFXComDuplicateFilter(configuration.duplicateWindow);
 
         if (connectorTask == null || connectorTask.isCancelled()) {
             connectorTask = scheduler.scheduleWithFixedDelay(() -> {
@@ -286,13 +401,21 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
-                                    (RFXComDeviceMessage) message);
-                        } catch (Exception e) {
-                            // catch all exceptions give all handlers a fair chance of handling the messages
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    RFXComDeviceMessage deviceMessage = (RFXComDeviceMessage) message;
+
+                    if (duplicateFilter.isDuplicate(deviceMessage.getPacketType(), deviceMessage.getDeviceId(),
+                            packet)) {
+                        logger.trace("Ignoring repeated message: {}", message);
+                        return;
+                    }
+                    notifyListeners(deviceStatusListeners, deviceMessage);
+                    Map<String, List<DeviceMessageListener>> devices = deviceListeners
+                            .get(deviceMessage.getPacketType());
+                    if (devices != null) {
+                        String deviceId = deviceMessage.getDeviceId();
+                        List<DeviceMessageListener> listeners = deviceId == null ? null : devices.get(deviceId);
+                        if (listeners != null) {
+                            notifyListeners(listeners, deviceMessage);
                         }
                     }
                 } else {
@@ -308,6 +431,17 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
             }
         }
 
+        private void notifyListeners(List<DeviceMessageListener> listeners, RFXComDeviceMessage message) {
+            for (DeviceMessageListener listener : listeners) {
+                try {
+                    listener.onDeviceMessageReceived(getThing().getUID(), message);
+                } catch (Exception e) {
+                    // catch all exceptions give all handlers a fair chance of handling the messages
+                    logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                }
+            }
+        }
+
         @Override
         public void errorOccurred(String error) {
             logger.error("Error occurred: {}", error);
@@ -330,6 +464,35 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         return deviceStatusListeners.remove(deviceStatusListener);
     }
 
+    /**
+     * Registers a listener for the messages of a single device. Unlike listeners registered with
+     * {@link #registerDeviceStatusListener(DeviceMessageListener)}, the listener is only called for messages with the
+     * given packet type and device id.
+     *
+     * @param packetType packet type of the messages
+     * @param deviceId device id of the messages
+     * @param deviceMessageListener the listener to call
+     * @return true if the listener was added, false if it was already registered
+     */
+    public boolean registerDeviceMessageListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        if (deviceMessageListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceMessageListener.");
+        }
+        List<DeviceMessageListener> listeners = deviceListeners
+                .computeIfAbsent(packetType, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(deviceId, d -> new CopyOnWriteArrayList<>());
+        return listeners.contains(deviceMessageListener) ? false : listeners.add(deviceMessageListener);
+    }
+
+    public boolean unregisterDeviceMessageListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        Map<String, List<DeviceMessageListener>> devices = deviceListeners.get(packetType);
+        List<DeviceMessageListener> listeners = devices == null ? null : devices.get(deviceId);
+
+        return listeners != null && listeners.remove(deviceMessageListener);
+    }
+
     public RFXComBridgeConfiguration getConfiguration() {
         return configuration;
     }
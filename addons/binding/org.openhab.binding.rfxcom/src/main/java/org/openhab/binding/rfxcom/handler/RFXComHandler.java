@@ -10,6 +10,13 @@ package org.openhab.binding.rfxcom.handler;
 
 import static org.openhab.binding.rfxcom.RFXComBindingConstants.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -19,6 +26,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
@@ -29,6 +37,7 @@ import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
 import org.openhab.binding.rfxcom.internal.config.RFXComDeviceConfiguration;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnknownChannelException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
@@ -45,10 +54,22 @@ import org.slf4j.LoggerFactory;
 public class RFXComHandler extends BaseThingHandler implements DeviceMessageListener {
     private static final int LOW_BATTERY_LEVEL = 1;
 
+    /**
+     * Channels which the messages of a thing type never provide, shared by all things of the same type.
+     */
+    private static final Map<ThingTypeUID, Set<String>> UNKNOWN_CHANNELS = new ConcurrentHashMap<>();
+
     private final Logger logger = LoggerFactory.getLogger(RFXComHandler.class);
 
     private RFXComBridgeHandler bridgeHandler;
     private RFXComDeviceConfiguration config;
+    private PacketType packetType;
+    private String registeredDeviceId;
+
+    /**
+     * Channels of this thing which are updated on a received message.
+     */
+    private volatile List<String> supportedChannels = Collections.emptyList();
 
     public RFXComHandler(@NonNull Thing thing) {
         super(thing);
@@ -63,9 +84,6 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
                 logger.trace("Received unsupported Refresh command");
             } else {
                 try {
-                    PacketType packetType = RFXComMessageFactory
-                            .convertPacketType(getThing().getThingTypeUID().getId().toUpperCase());
-
                     RFXComMessage msg = RFXComMessageFactory.createMessage(packetType);
 
                     msg.setConfig(config);
@@ -98,12 +116,19 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
         logger.debug("initializeBridge {} for thing {}", bridgeStatus, getThing().getUID());
 
         config = getConfigAs(RFXComDeviceConfiguration.class);
+        packetType = THING_TYPE_UID_PACKET_TYPE_MAP.get(getThing().getThingTypeUID());
         if (config.deviceId == null || config.subType == null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                     "RFXCOM device missing deviceId or subType");
+        } else if (packetType == null) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Unsupported thing type " + getThing().getThingTypeUID());
         } else if (thingHandler != null && bridgeStatus != null) {
+            unregisterDeviceMessageListener();
             bridgeHandler = (RFXComBridgeHandler) thingHandler;
-            bridgeHandler.registerDeviceStatusListener(this);
+            bridgeHandler.registerDeviceMessageListener(packetType, config.deviceId, this);
+            registeredDeviceId = config.deviceId;
+            updateSupportedChannels();
 
             if (bridgeStatus == ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -118,39 +143,63 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
     @Override
     public void dispose() {
         logger.debug("Thing {} disposed.", getThing().getUID());
-        if (bridgeHandler != null) {
-            bridgeHandler.unregisterDeviceStatusListener(this);
-        }
+        unregisterDeviceMessageListener();
         bridgeHandler = null;
         super.dispose();
     }
 
+    private void unregisterDeviceMessageListener() {
+        if (bridgeHandler != null && registeredDeviceId != null) {
+            bridgeHandler.unregisterDeviceMessageListener(packetType, registeredDeviceId, this);
+        }
+        registeredDeviceId = null;
+    }
+
+    /**
+     * Determines the channels of this thing which are not known to be never provided by the messages of its thing
+     * type.
+     */
+    private void updateSupportedChannels() {
+        Set<String> unknownChannels = UNKNOWN_CHANNELS.getOrDefault(getThing().getThingTypeUID(),
+                Collections.emptySet());
+        List<String> channels = new ArrayList<>();
+
+        for (Channel channel : getThing().getChannels()) {
+            String channelId = channel.getUID().getId();
+            if (!unknownChannels.contains(channelId)) {
+                channels.add(channelId);
+            }
+        }
+        supportedChannels = channels;
+    }
+
     @Override
     public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) {
         try {
-            String id = message.getDeviceId();
-            if (config.deviceId.equals(id)) {
-                String receivedId = PACKET_TYPE_THING_TYPE_UID_MAP.get(message.getPacketType()).getId();
-                logger.debug("Received message from bridge: {} message: {}", bridge, message);
-
-                if (receivedId.equals(getThing().getThingTypeUID().getId())) {
-                    updateStatus(ThingStatus.ONLINE);
-
-                    for (Channel channel : getThing().getChannels()) {
-                        String channelId = channel.getUID().getId();
-
-                        try {
-                            if (channelId.equals(CHANNEL_LOW_BATTERY)) {
-                                updateState(channelId, isLowBattery(message.convertToState(CHANNEL_BATTERY_LEVEL)));
-                            } else {
-                                updateState(channelId, message.convertToState(channelId));
-                            }
-                        } catch (RFXComException e) {
-                            logger.trace("{} does not handle {}", channelId, message);
-                        }
+            // The bridge only passes messages with the packet type and device id of this thing
+            logger.debug("Received message from bridge: {} message: {}", bridge, message);
+            updateStatus(ThingStatus.ONLINE);
+
+            boolean unknownChannelFound = false;
+            for (String channelId : supportedChannels) {
+                try {
+                    if (channelId.equals(CHANNEL_LOW_BATTERY)) {
+                        updateState(channelId, isLowBattery(message.convertToState(CHANNEL_BATTERY_LEVEL)));
+                    } else {
+                        updateState(channelId, message.convertToState(channelId));
                     }
+                } catch (RFXComUnknownChannelException e) {
+                    logger.debug("{} is never handled by {}, skipping it from now on", channelId, message);
+                    UNKNOWN_CHANNELS.computeIfAbsent(getThing().getThingTypeUID(), t -> ConcurrentHashMap.newKeySet())
+                            .add(channelId);
+                    unknownChannelFound = true;
+                } catch (RFXComException e) {
+                    logger.trace("{} does not handle {}", channelId, message);
                 }
             }
+            if (unknownChannelFound) {
+                updateSupportedChannels();
+            }
         } catch (Exception e) {
             logger.error("Error occurred during message receiving", e);
         }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+
+/**
+ * The {@link RFXComDuplicateFilter} detects repeated packets of a device. Most remotes and sensors send the same RF
+ * frame multiple times, which the transceiver passes as separate packets.
+ *
+ * A packet is a duplicate if a packet with the same content was received from the same device within the window.
+ * The sequence number and the last byte, which holds the signal level, are ignored when comparing the content. The
+ * window starts at the first packet, so a device that keeps sending the same content is passed once per window.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComDuplicateFilter {
+    /**
+     * Number of devices above which devices not heard of within the window are removed.
+     */
+    private static final int CLEANUP_THRESHOLD = 64;
+
+    private final Map<PacketType, Map<String, Received>> lastReceived = new EnumMap<>(PacketType.class);
+    private final long windowNanos;
+    private int size;
+
+    private static class Received {
+        private byte[] packet;
+        private long nanoTime;
+
+        private Received(byte[] packet, long nanoTime) {
+            this.packet = packet;
+            this.nanoTime = nanoTime;
+        }
+    }
+
+    /**
+     * @param windowMillis the time in milliseconds in which repeated packets are duplicates, 0 to disable the filter
+     */
+    public RFXComDuplicateFilter(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Checks if the packet is a repetition of a packet received before from the same device.
+     *
+     * @param packetType packet type of the received message
+     * @param deviceId device id of the received message
+     * @param packet the received packet
+     * @return true if the packet is a duplicate and should be ignored
+     */
+    public boolean isDuplicate(PacketType packetType, String deviceId, byte[] packet) {
+        return isDuplicate(packetType, deviceId, packet, System.nanoTime());
+    }
+
+    synchronized boolean isDuplicate(PacketType packetType, String deviceId, byte[] packet, long nanoTime) {
+        // The content of undecoded messages is raw data, which can't be compared without the last byte
+        if (windowNanos <= 0 || deviceId == null || packetType == PacketType.UNDECODED_RF_MESSAGE) {
+            return false;
+        }
+        Map<String, Received> devices = lastReceived.computeIfAbsent(packetType, p -> new HashMap<>());
+        Received received = devices.get(deviceId);
+
+        if (received == null) {
+            if (++size > CLEANUP_THRESHOLD) {
+                removeExpired(nanoTime);
+            }
+            devices.put(deviceId, new Received(packet.clone(), nanoTime));
+            return false;
+        }
+        if (nanoTime - received.nanoTime < windowNanos && isSameContent(received.packet, packet)) {
+            return true;
+        }
+        received.packet = packet.clone();
+        received.nanoTime = nanoTime;
+        return false;
+    }
+
+    /**
+     * Forgets all received packets.
+     */
+    public synchronized void clear() {
+        lastReceived.clear();
+        size = 0;
+    }
+
+    private void removeExpired(long nanoTime) {
+        for (Map<String, Received> devices : lastReceived.values()) {
+            Iterator<Received> iterator = devices.values().iterator();
+
+            while (iterator.hasNext()) {
+                if (nanoTime - iterator.next().nanoTime >= windowNanos) {
+                    iterator.remove();
+                    size--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the packets, without the sequence number (byte 3) and the signal level (last byte).
+     */
+    private static boolean isSameContent(byte[] previous, byte[] packet) {
+        if (previous.length != packet.length || packet.length < 5) {
+            return Arrays.equals(previous, packet);
+        }
+        for (int i = 0; i < packet.length - 1; i++) {
+            if (i != 3 && previous[i] != packet[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
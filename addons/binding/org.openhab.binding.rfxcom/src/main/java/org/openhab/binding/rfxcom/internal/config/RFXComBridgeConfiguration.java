@@ -38,6 +38,12 @@ public class RFXComBridgeConfiguration {
 
     public int transmitPower;
 
+    // Minimum time in milliseconds between transmitted messages
+    public int transmitInterval;
+
+    // Time in milliseconds in which repeated messages of a device are ignored
+    public int duplicateWindow;
+
     // Won't configure protocols to RFXCOM transceiver
     public boolean ignoreConfig;
 
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal.exceptions;
+
+/**
+ * Exception to indicate that a message never has a value for the requested channel, independent of the received
+ * values. Unlike its super class, which can also indicate that the current value can't be converted.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComUnknownChannelException extends RFXComUnsupportedChannelException {
+    public RFXComUnknownChannelException(String message) {
+        super(message);
+    }
+}
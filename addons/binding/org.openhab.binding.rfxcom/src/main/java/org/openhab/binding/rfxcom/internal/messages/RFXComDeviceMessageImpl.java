@@ -15,6 +15,7 @@ import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.rfxcom.internal.config.RFXComDeviceConfiguration;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnknownChannelException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnsupportedChannelException;
 
 /**
@@ -46,7 +47,7 @@ abstract class RFXComDeviceMessageImpl<T> extends RFXComBaseMessage implements R
                 return convertSignalLevelToSystemWideLevel(signalLevel);
 
             default:
-                throw new RFXComUnsupportedChannelException("Nothing relevant for " + channelId);
+                throw new RFXComUnknownChannelException("Nothing relevant for " + channelId);
         }
     }
 
@@ -19,6 +19,7 @@ import org.eclipse.smarthome.core.types.Type;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageTooLongException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnknownChannelException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnsupportedChannelException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnsupportedValueException;
 
@@ -140,7 +141,7 @@ public class RFXComUndecodedRFMessage extends RFXComDeviceMessageImpl<RFXComUnde
                 return new StringType(HexUtils.bytesToHex(rawPayload));
 
             default:
-                throw new RFXComUnsupportedChannelException("Nothing relevant for " + channelId);
+                throw new RFXComUnknownChannelException("Nothing relevant for " + channelId);
         }
     }
 
@@ -218,29 +218,36 @@ public class SysteminfoHandler extends BaseThingHandler {
     private void scheduleUpdates() {
         logger.debug("Schedule high priority tasks at fixed rate {} s.", refreshIntervalHighPriority);
         highPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(highPriorityChannels);
+            publishData("High", highPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalHighPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule medium priority tasks at fixed rate {} s.", refreshIntervalMediumPriority);
         mediumPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(mediumPriorityChannels);
+            publishData("Medium", mediumPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalMediumPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule one time update for low priority tasks.");
         scheduler.schedule(() -> {
-            publishData(lowPriorityChannels);
+            publishData("Low", lowPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, TimeUnit.SECONDS);
 
     }
 
-    private void publishData(Set<ChannelUID> channels) {
+    private void publishData(String priority, Set<ChannelUID> channels) {
         if (channels != null) {
-            Iterator<ChannelUID> iter = channels.iterator();
-            while (iter.hasNext()) {
-                ChannelUID channeUID = iter.next();
-                if (isLinked(channeUID.getId())) {
-                    publishDataForChannel(channeUID);
+            // All channels are updated from the same sample, so information is read from the system only once. Loads
+            // are computed since the previous update of the same priority, so each refresh interval has its own.
+            systeminfo.startSampling(thing.getUID() + "/" + priority);
+            try {
+                Iterator<ChannelUID> iter = channels.iterator();
+                while (iter.hasNext()) {
+                    ChannelUID channeUID = iter.next();
+                    if (isLinked(channeUID.getId())) {
+                        publishDataForChannel(channeUID);
+                    }
                 }
+            } finally {
+                systeminfo.finishSampling();
             }
         }
     }
@@ -596,6 +603,7 @@ public class SysteminfoHandler extends BaseThingHandler {
     @Override
     public void dispose() {
         stopScheduledUpdates();
+        systeminfo.stopSampling(thing.getUID() + "/");
     }
 
 }
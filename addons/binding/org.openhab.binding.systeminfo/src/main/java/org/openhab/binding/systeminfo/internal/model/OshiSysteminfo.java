@@ -9,6 +9,9 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -19,6 +22,7 @@ import org.slf4j.LoggerFactory;
 
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.TickType;
 import oshi.hardware.Display;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.HWDiskStore;
@@ -64,6 +68,20 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Sample of the sampling pass running in the current thread
+     */
+    private final ThreadLocal<Sample> currentSample = new ThreadLocal<>();
+
+    /**
+     * Values of the previous sample per sampler, the loads are computed from the difference to the current values
+     */
+    private final Map<String, Baseline> baselines = new HashMap<>();
+
+    // Last computed loads, returned outside of a sampling pass
+    private volatile double lastCpuLoad = -1;
+    private final Map<Integer, Double> lastProcessCpuUsages = new ConcurrentHashMap<>();
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -103,12 +121,100 @@ public class OshiSysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
+    @Override
+    public void startSampling(String sampler) {
+        Baseline baseline;
+        synchronized (baselines) {
+            baseline = baselines.get(sampler);
+            if (baseline == null) {
+                baseline = new Baseline();
+                baselines.put(sampler, baseline);
+            }
+        }
+        currentSample.set(new Sample(baseline));
+    }
+
+    @Override
+    public void finishSampling() {
+        currentSample.remove();
+    }
+
+    @Override
+    public void stopSampling(String samplerPrefix) {
+        synchronized (baselines) {
+            baselines.keySet().removeIf(sampler -> sampler.startsWith(samplerPrefix));
+        }
+    }
+
+    private Sample getSample() {
+        Sample sample = currentSample.get();
+        return sample != null ? sample : new Sample(null);
+    }
+
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
-        if (process == null) {
-            throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+        return getSample().getProcess(pid);
+    }
+
+    /**
+     * Compute the CPU load from the CPU ticks since the previous sample of the sampler. Without a sampler the last
+     * computed load is returned.
+     *
+     * @return the load as fraction /0-1/
+     */
+    private double readCpuLoad(Baseline baseline) {
+        if (baseline == null) {
+            double load = lastCpuLoad;
+            return load >= 0 ? load : cpu.getSystemCpuLoad();
+        }
+        long[] ticks = cpu.getSystemCpuLoadTicks();
+        synchronized (baseline) {
+            long[] previousTicks = baseline.cpuTicks;
+            if (previousTicks == null || previousTicks.length != ticks.length) {
+                baseline.cpuTicks = ticks;
+                baseline.cpuLoad = cpu.getSystemCpuLoad();
+            } else {
+                long total = 0;
+                for (int i = 0; i < ticks.length; i++) {
+                    total += ticks[i] - previousTicks[i];
+                }
+                // Without new ticks since the previous sample the previous load is kept
+                if (total > 0) {
+                    long idle = ticks[TickType.IDLE.getIndex()] - previousTicks[TickType.IDLE.getIndex()]
+                            + ticks[TickType.IOWAIT.getIndex()] - previousTicks[TickType.IOWAIT.getIndex()];
+                    baseline.cpuTicks = ticks;
+                    baseline.cpuLoad = 1.0 - (double) idle / total;
+                }
+            }
+            lastCpuLoad = baseline.cpuLoad;
+            return baseline.cpuLoad;
+        }
+    }
+
+    /**
+     * Compute the CPU usage of the process since the previous sample of the sampler. Without a sampler the last
+     * computed usage is returned.
+     *
+     * @return the usage as fraction of one logical processor
+     */
+    private double readProcessCpuUsage(Baseline baseline, OSProcess process) {
+        long cpuTime = process.getKernelTime() + process.getUserTime();
+        long upTime = process.getUpTime();
+        double usage = upTime > 0 ? (double) cpuTime / upTime : 0;
+        if (baseline == null) {
+            Double lastUsage = lastProcessCpuUsages.get(process.getProcessID());
+            return lastUsage != null ? lastUsage : usage;
+        }
+        long[] times = new long[] { process.getStartTime(), cpuTime, upTime };
+        long[] previousTimes;
+        synchronized (baseline) {
+            previousTimes = baseline.processTimes.put(process.getProcessID(), times);
+        }
+        // A different start time means, that the PID has been reused by a new process
+        if (previousTimes != null && previousTimes[0] == times[0] && upTime > previousTimes[2]) {
+            usage = (double) (cpuTime - previousTimes[1]) / (upTime - previousTimes[2]);
         }
-        return process;
+        lastProcessCpuUsages.put(process.getProcessID(), usage);
+        return usage;
     }
 
     @Override
@@ -164,8 +270,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuLoad() {
-        double processorLoad = cpu.getSystemCpuLoad();
-        BigDecimal processorLoadPercent = getPercentsValue(processorLoad);
+        BigDecimal processorLoadPercent = getSample().getCpuLoad();
         return new DecimalType(processorLoadPercent);
     }
 
@@ -194,10 +299,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSample().getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -205,10 +307,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSample().getFileStores(), index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -216,10 +315,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSample().getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -229,10 +325,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSample().getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -246,10 +339,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSample().getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -285,10 +375,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(getSample().getNetworks(), index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -347,10 +434,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getSample().getPowerSources(), index);
         double remainingTimeInSeconds = powerSource.getTimeRemaining();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -359,10 +443,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getSample().getPowerSources(), index);
         double remainingCapacity = powerSource.getRemainingCapacity();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -565,44 +646,28 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getSample().getNetworkWithStats(networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getSample().getNetworkWithStats(networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getSample().getNetworkWithStats(networkIndex);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getSample().getNetworkWithStats(networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -621,9 +686,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getProcessCpuUsage(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
-            double cpuUsageRaw = (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
-            BigDecimal cpuUsage = getPercentsValue(cpuUsageRaw);
+            BigDecimal cpuUsage = getSample().getProcessCpuUsage(pid);
             return new DecimalType(cpuUsage);
         } else {
             return null;
@@ -664,4 +727,99 @@ public class OshiSysteminfo implements SysteminfoInterface {
         }
     }
 
+    /**
+     * Values of the previous sample of a sampler
+     */
+    private static class Baseline {
+        private long[] cpuTicks;
+        private double cpuLoad;
+        private final Map<Integer, long[]> processTimes = new HashMap<>();
+    }
+
+    /**
+     * Information, which is read from the system once in a sampling pass. Outside of a sampling pass every get method
+     * reads the information again.
+     */
+    private class Sample {
+        private final Baseline baseline;
+        private OSFileStore[] fileStores;
+        private NetworkIF[] networks;
+        private boolean[] networkStatsUpdated;
+        private PowerSource[] powerSources;
+        private BigDecimal cpuLoad;
+        private final Map<Integer, OSProcess> processes = new HashMap<>();
+        private final Map<Integer, BigDecimal> processCpuUsages = new HashMap<>();
+
+        private Sample(Baseline baseline) {
+            this.baseline = baseline;
+        }
+
+        private OSFileStore[] getFileStores() {
+            if (fileStores == null) {
+                // In the current OSHI version a new query is required for the storage data values to be updated
+                // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
+                fileStores = operatingSystem.getFileSystem().getFileStores();
+                OshiSysteminfo.this.fileStores = fileStores;
+            }
+            return fileStores;
+        }
+
+        private NetworkIF[] getNetworks() {
+            if (networks == null) {
+                // In the current OSHI version a new query is required for the network data values to be updated
+                // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
+                networks = hal.getNetworkIFs();
+                networkStatsUpdated = new boolean[networks.length];
+                OshiSysteminfo.this.networks = networks;
+            }
+            return networks;
+        }
+
+        private NetworkIF getNetworkWithStats(int index) throws DeviceNotFoundException {
+            NetworkIF network = (NetworkIF) getDevice(getNetworks(), index);
+            if (!networkStatsUpdated[index]) {
+                network.updateNetworkStats();
+                networkStatsUpdated[index] = true;
+            }
+            return network;
+        }
+
+        private PowerSource[] getPowerSources() {
+            if (powerSources == null) {
+                // In the current OSHI version a new query is required for the battery data values to be updated
+                // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
+                powerSources = hal.getPowerSources();
+                OshiSysteminfo.this.powerSources = powerSources;
+            }
+            return powerSources;
+        }
+
+        private BigDecimal getCpuLoad() {
+            if (cpuLoad == null) {
+                cpuLoad = getPercentsValue(readCpuLoad(baseline));
+            }
+            return cpuLoad;
+        }
+
+        private OSProcess getProcess(int pid) throws DeviceNotFoundException {
+            OSProcess process = processes.get(pid);
+            if (process == null) {
+                process = operatingSystem.getProcess(pid);
+                if (process == null) {
+                    throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+                }
+                processes.put(pid, process);
+            }
+            return process;
+        }
+
+        private BigDecimal getProcessCpuUsage(int pid) throws DeviceNotFoundException {
+            BigDecimal cpuUsage = processCpuUsages.get(pid);
+            if (cpuUsage == null) {
+                cpuUsage = getPercentsValue(readProcessCpuUsage(baseline, getProcess(pid)));
+                processCpuUsages.put(pid, cpuUsage);
+            }
+            return cpuUsage;
+        }
+    }
 }
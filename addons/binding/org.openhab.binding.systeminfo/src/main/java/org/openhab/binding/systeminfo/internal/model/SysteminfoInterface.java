@@ -23,6 +23,31 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Start a sampling pass of the calling thread. Until the pass is finished by {@link #finishSampling()},
+     * information which is read from the system at once (e.g. all information about a process, a file store or a
+     * network interface) is read only once and shared by all get methods called by this thread.
+     *
+     * Loads (CPU load, process CPU usage) are computed since the previous pass of the same sampler. Outside of a pass
+     * the last computed loads are returned.
+     *
+     * @param sampler identifies the caller, e.g. a thing and its refresh interval
+     */
+    public void startSampling(String sampler);
+
+    /**
+     * Finish the sampling pass of the calling thread, started by {@link #startSampling(String)}.
+     */
+    public void finishSampling();
+
+    /**
+     * Forget the previous passes of all samplers starting with the given prefix. The next pass of such a sampler
+     * starts like the first one.
+     *
+     * @param samplerPrefix prefix of the samplers, e.g. a thing which is disposed
+     */
+    public void stopSampling(String samplerPrefix);
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -64,7 +89,7 @@ public interface SysteminfoInterface {
     public DecimalType getCpuPhysicalCores();
 
     /**
-     * Get the recent average CPU load for all logical processors
+     * Get the average CPU load for all logical processors since the previous sample
      *
      * @return the load as percentage value /0-100/
      */
@@ -404,7 +429,8 @@ public interface SysteminfoInterface {
     public StringType getProcessName(int pid) throws DeviceNotFoundException;
 
     /**
-     * Returns the CPU usage of the process
+     * Returns the CPU usage of the process since the previous sample, or since the start of the process if the process
+     * has not been sampled before
      *
      * @param pid - the PID of the process
      * @return - percentage value /0-100/
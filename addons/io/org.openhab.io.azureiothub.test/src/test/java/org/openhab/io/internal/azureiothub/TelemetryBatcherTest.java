@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TelemetryBatcher}, sending through a stub {@link TelemetrySender}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TelemetryBatcherTest {
+
+    private final StubSender sender = new StubSender();
+
+    /**
+     * Records the sent messages. Fails for the devices marked as invalid and, while offline, for all devices.
+     */
+    private static class StubSender implements TelemetrySender {
+        private final List<String> sent = new ArrayList<>();
+        private final Set<String> invalidDevices = new HashSet<>();
+        private boolean offline;
+
+        @Override
+        public void send(String deviceId, String payload) throws IOException, TelemetryDeviceException {
+            if (offline) {
+                throw new IOException("offline");
+            }
+            if (invalidDevices.contains(deviceId)) {
+                throw new TelemetryDeviceException("invalid device " + deviceId);
+            }
+            sent.add(deviceId + "=" + payload);
+        }
+    }
+
+    /**
+     * @return a batcher which is only flushed by the test
+     */
+    private TelemetryBatcher createBatcher(int batchSize, int bufferSize) {
+        return new TelemetryBatcher(sender, mock(ScheduledExecutorService.class), batchSize, 0, bufferSize);
+    }
+
+    @Test
+    public void testSingleDatapoint() {
+        TelemetryBatcher batcher = createBatcher(1, 10);
+
+        batcher.add("item", "ON");
+        batcher.flush();
+
+        assertEquals(1, sender.sent.size());
+        assertEquals("item={\"deviceId\":\"item\",\"value\":\"ON\"}", sender.sent.get(0));
+    }
+
+    @Test
+    public void testBatchesPerDevice() {
+        TelemetryBatcher batcher = createBatcher(2, 10);
+
+        batcher.add("a", "1");
+        batcher.add("a", "2");
+        batcher.add("a", "3");
+        batcher.add("b", "1");
+        batcher.flush();
+
+        assertEquals(3, batcher.getSentMessages());
+        assertEquals(4, batcher.getSentDatapoints());
+        assertEquals(0, batcher.getQueuedDatapoints());
+        assertTrue(sender.sent.get(0).startsWith("a=["));
+    }
+
+    @Test
+    public void testInvalidDeviceDoesNotBlockOtherDevices() {
+        TelemetryBatcher batcher = createBatcher(1, 10);
+        sender.invalidDevices.add("bad");
+
+        batcher.add("bad", "1");
+        batcher.add("good", "1");
+        batcher.add("bad", "2");
+        batcher.add("good", "2");
+        batcher.flush();
+
+        assertEquals(2, sender.sent.size());
+        assertTrue(sender.sent.stream().allMatch(message -> message.startsWith("good=")));
+        assertEquals(2, batcher.getFailedMessages());
+        assertEquals(2, batcher.getDroppedDatapoints());
+        assertEquals(0, batcher.getQueuedDatapoints());
+    }
+
+    @Test
+    public void testOfflineKeepsDatapointsQueued() {
+        TelemetryBatcher batcher = createBatcher(1, 10);
+        sender.offline = true;
+
+        batcher.add("a", "1");
+        batcher.add("b", "1");
+        batcher.flush();
+
+        assertEquals(0, sender.sent.size());
+        assertEquals(1, batcher.getFailedMessages());
+        assertEquals(2, batcher.getQueuedDatapoints());
+
+        sender.offline = false;
+        batcher.flush();
+
+        assertEquals(2, sender.sent.size());
+        assertTrue(sender.sent.get(0).startsWith("a="));
+        assertEquals(0, batcher.getQueuedDatapoints());
+    }
+
+    @Test
+    public void testFullBufferDropsOldestDatapoints() {
+        TelemetryBatcher batcher = createBatcher(1, 2);
+        sender.offline = true;
+
+        batcher.add("a", "1");
+        batcher.add("b", "1");
+        batcher.add("c", "1");
+        batcher.flush();
+
+        assertEquals(1, batcher.getDroppedDatapoints());
+        assertEquals(2, batcher.getQueuedDatapoints());
+
+        sender.offline = false;
+        batcher.flush();
+
+        assertEquals(2, sender.sent.size());
+        assertTrue(sender.sent.get(0).startsWith("b="));
+        assertTrue(sender.sent.get(1).startsWith("c="));
+    }
+}
@@ -10,7 +10,6 @@ package org.openhab.io.internal.azureiothub;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.time.LocalDateTime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,13 +33,11 @@ public class AzureDevice {
     private final Logger logger = LoggerFactory.getLogger(AzureDevice.class);
 
     private final DeviceClient client;
-    private LocalDateTime retrievedAt;
 
     private Device device;
 
     public AzureDevice(Device azureDevice, RegistryManager registryManager) throws URISyntaxException, IOException {
         device = azureDevice;
-        retrievedAt = LocalDateTime.now();
 
         String connectionstring = registryManager.getDeviceConnectionString(azureDevice);
         client = new DeviceClient(connectionstring, PROTOCOL);
@@ -48,23 +45,15 @@ public class AzureDevice {
         logger.debug("device {} - state {}", azureDevice.getDeviceId(), azureDevice.getConnectionState());
     }
 
-    public LocalDateTime getRetrievedAt() {
-        return retrievedAt;
-    }
-
     public Device getDevice() {
         return device;
     }
 
-    public void sendMessage(Message msg, AzureEventCallback callback, Object lockobj) {
-        try {
-            // keep connection open,
-            // according to inline comments, calling open on an already open connection does nothing.
-            client.open();
-        } catch (IOException e) {
-            logger.warn("Failed to connect to Azure IoT Hub device", e);
-        }
-        client.sendEventAsync(msg, callback, lockobj);
+    public void sendMessage(Message msg, AzureEventCallback callback, Object context) throws IOException {
+        // keep connection open,
+        // according to inline comments, calling open on an already open connection does nothing.
+        client.open();
+        client.sendEventAsync(msg, callback, context);
     }
 
     public void close() {
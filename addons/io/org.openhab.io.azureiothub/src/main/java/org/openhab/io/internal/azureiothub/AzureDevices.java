@@ -11,10 +11,8 @@ package org.openhab.io.internal.azureiothub;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.security.NoSuchAlgorithmException;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,7 +23,8 @@ import com.microsoft.azure.sdk.iot.service.RegistryManager;
 import com.microsoft.azure.sdk.iot.service.exceptions.IotHubException;
 
 /**
- * Represents an a list of devices on the Azure IoT Hub
+ * Represents an a list of devices on the Azure IoT Hub. The device clients are kept open and reused for all messages
+ * of a device; a client is only re-created after it failed.
  *
  * @author Niko Tanghe - Initial contribution
  * @author Kai Kreuzer - removed joda-time dependency and cleaned up code
@@ -35,7 +34,7 @@ public class AzureDevices {
 
     private final Logger logger = LoggerFactory.getLogger(AzureDevices.class);
 
-    private Map<String, AzureDevice> map = new HashMap<>();
+    private final Map<String, AzureDevice> map = new ConcurrentHashMap<>();
     private String connectionstring;
     private RegistryManager registryManager;
 
@@ -47,23 +46,42 @@ public class AzureDevices {
     public AzureDevice getDevice(String deviceId) throws URISyntaxException, IOException, IotHubException,
             JsonSyntaxException, IllegalArgumentException, NoSuchAlgorithmException {
         AzureDevice device = map.get(deviceId);
+        if (device != null) {
+            return device;
+        }
 
-        // not created yet or cache expired
-        if (device == null || device.getRetrievedAt().plus(Duration.ofMinutes(30)).isBefore(LocalDateTime.now())) {
-
-            // close connection
-            if (device != null) {
-                device.close();
-                registryManager.removeDevice(deviceId);
+        synchronized (map) {
+            device = map.get(deviceId);
+            if (device == null) {
+                device = new AzureDevice(getAzureDevice(deviceId), registryManager);
+                map.put(deviceId, device);
             }
-
-            // re-create
-            device = new AzureDevice(getAzureDevice(deviceId), registryManager);
-            map.put(deviceId, device);
             return device;
         }
+    }
 
-        return device;
+    /**
+     * Closes the client of a device, so it is re-created on the next use.
+     *
+     * @param deviceId the id of the device
+     */
+    public void invalidate(String deviceId) {
+        AzureDevice device = map.remove(deviceId);
+        if (device != null) {
+            device.close();
+        }
+    }
+
+    /**
+     * Closes the clients of all devices.
+     */
+    public void close() {
+        synchronized (map) {
+            for (AzureDevice device : map.values()) {
+                device.close();
+            }
+            map.clear();
+        }
     }
 
     private Device getAzureDevice(String deviceId) throws IllegalArgumentException, NoSuchAlgorithmException,
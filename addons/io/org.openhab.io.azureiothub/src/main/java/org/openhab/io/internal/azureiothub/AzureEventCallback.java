@@ -8,6 +8,8 @@
  */
 package org.openhab.io.internal.azureiothub;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,9 +26,17 @@ import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
 public class AzureEventCallback implements IotHubEventCallback {
     private final Logger logger = LoggerFactory.getLogger(AzureEventCallback.class);
 
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
     @Override
     public void execute(IotHubStatusCode status, Object context) {
         logger.debug("IoT Hub responded to message with status {}", status.name());
+        if (status == IotHubStatusCode.OK || status == IotHubStatusCode.OK_EMPTY) {
+            confirmed.incrementAndGet();
+        } else {
+            rejected.incrementAndGet();
+        }
 
         if (context != null) {
             synchronized (context) {
@@ -34,4 +44,12 @@ public class AzureEventCallback implements IotHubEventCallback {
             }
         }
     }
+
+    public long getConfirmedCount() {
+        return confirmed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
 }
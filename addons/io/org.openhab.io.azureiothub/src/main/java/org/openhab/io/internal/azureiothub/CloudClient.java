@@ -13,35 +13,33 @@ import java.nio.charset.Charset;
 import java.time.Instant;
 import java.util.function.Consumer;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.microsoft.azure.eventhubs.EventData;
 import com.microsoft.azure.eventhubs.EventHubClient;
 import com.microsoft.azure.eventhubs.PartitionReceiver;
 import com.microsoft.azure.sdk.iot.device.Message;
-import com.microsoft.azure.sdk.iot.service.Device;
 import com.microsoft.azure.servicebus.ServiceBusException;
 
 /**
  *
  * This class provides communication between openHAB and Azure IoT Hub.
  * implementation is taken from https://docs.microsoft.com/en-us/azure/iot-hub/iot-hub-java-java-getstarted
+ * Item updates are sent through a {@link TelemetryBatcher}, which uses this class as its {@link TelemetrySender}.
  *
  * @author Niko Tanghe - Initial contribution
  * @author Kai Kreuzer - Code cleanup
  *
  */
 
-public class CloudClient {
+public class CloudClient implements TelemetrySender {
 
-    private static final String DATAPOINT_VALUE = "value";
-    private static final String DATAPOINT_DEVICE_ID = "deviceId";
+    private static final String THREADPOOL_AZUREIOTHUB = "azureiothub";
 
     private final Logger logger = LoggerFactory.getLogger(CloudClient.class);
 
@@ -51,25 +49,30 @@ public class CloudClient {
 
     private AzureDevices azureDeviceStore;
     private EventHubClient azureClient;
-    private Object lockobj = new Object();
-    private Gson gson = new Gson();
+    private final AzureEventCallback callback = new AzureEventCallback();
+    private final TelemetryBatcher batcher;
 
     /**
      * Constructor of CloudClient
      *
      * @param connectionstring the connectionstring to the Azure IoT Hub
      * @param eventPublisher
+     * @param batchSize the maximum number of item updates per message
+     * @param batchInterval the maximum time in milliseconds an item update is queued
+     * @param bufferSize the maximum number of queued item updates
      * @throws IOException
      * @throws ServiceBusException
      *
      */
-    public CloudClient(String connectionstring, boolean commandEnabled, EventPublisher eventPublisher)
-            throws IOException, ServiceBusException {
+    public CloudClient(String connectionstring, boolean commandEnabled, EventPublisher eventPublisher, int batchSize,
+            long batchInterval, int bufferSize) throws IOException, ServiceBusException {
         this.connectionstring = connectionstring;
         this.commandEnabled = commandEnabled;
         this.eventPublisher = eventPublisher;
 
         azureDeviceStore = new AzureDevices(this.connectionstring);
+        batcher = new TelemetryBatcher(this, ThreadPoolManager.getScheduledPool(THREADPOOL_AZUREIOTHUB), batchSize,
+                batchInterval, bufferSize);
 
         if (this.commandEnabled) {
             azureClient = receiveMessages("0");
@@ -77,44 +80,47 @@ public class CloudClient {
     }
 
     public void sendItemUpdate(String deviceId, String state) {
+        batcher.add(deviceId, state);
+    }
+
+    @Override
+    public void send(String deviceId, String payload) throws IOException, TelemetryDeviceException {
         AzureDevice device;
         try {
             device = azureDeviceStore.getDevice(deviceId);
+        } catch (IOException e) {
+            throw e;
         } catch (Exception e) {
-            logger.error("Failed to obtain azure device", e);
-            return;
+            // e.g. the device id is not valid or the IoT Hub refuses to register the device
+            throw new TelemetryDeviceException("Failed to obtain azure device " + deviceId, e);
         }
 
-        setItemState(device, state);
-    }
-
-    private void setItemState(AzureDevice azureDevice, String state) {
-        AzureEventCallback callback = new AzureEventCallback();
-
-        Device device = azureDevice.getDevice();
-        if (device == null) {
-            logger.error("Invalid device connection for device, can not send item state update");
-            return;
+        if (device.getDevice() == null) {
+            azureDeviceStore.invalidate(deviceId);
+            throw new TelemetryDeviceException("Invalid device connection for device " + deviceId);
         }
 
-        JsonObject datapoint = new JsonObject();
-        datapoint.addProperty(DATAPOINT_DEVICE_ID, device.getDeviceId());
-        datapoint.addProperty(DATAPOINT_VALUE, state);
-
-        Message msg = new Message(gson.toJson(datapoint));
-
-        azureDevice.sendMessage(msg, callback, lockobj);
-
-        synchronized (lockobj) {
-            try {
-                lockobj.wait();
-            } catch (InterruptedException e) {
-                // done
-            }
+        try {
+            device.sendMessage(new Message(payload), callback, null);
+        } catch (IOException | IllegalStateException e) {
+            // the client will be re-created on the next attempt
+            azureDeviceStore.invalidate(deviceId);
+            throw new IOException("Failed to send message for device " + deviceId, e);
         }
     }
 
+    /**
+     * @return the throughput statistics of the item updates sent to the Azure IoT Hub
+     */
+    public String getStatistics() {
+        return batcher.getStatistics() + ", confirmed: " + callback.getConfirmedCount() + ", rejected: "
+                + callback.getRejectedCount();
+    }
+
     public void shutdown() {
+        logger.debug("Azure IoT Hub telemetry statistics: {}", getStatistics());
+        batcher.shutdown();
+        azureDeviceStore.close();
         if (azureClient != null) {
             try {
                 azureClient.closeSync();
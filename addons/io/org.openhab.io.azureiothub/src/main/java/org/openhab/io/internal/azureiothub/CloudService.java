@@ -39,6 +39,13 @@ public class CloudService implements EventSubscriber {
 
     private static final String CFG_MODE = "mode";
     private static final String CFG_CONNECTIONSTRING = "connectionstring";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_BATCH_INTERVAL = "batchInterval";
+    private static final String CFG_BUFFER_SIZE = "bufferSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final long DEFAULT_BATCH_INTERVAL = 1000;
+    private static final int DEFAULT_BUFFER_SIZE = 1000;
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
 
@@ -100,9 +107,14 @@ public class CloudService implements EventSubscriber {
             logger.debug("remoteAccessEnabled is not set, keeping value '{}'", commandEnabled);
         }
 
+        int batchSize = (int) getNumber(config, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        long batchInterval = getNumber(config, CFG_BATCH_INTERVAL, DEFAULT_BATCH_INTERVAL);
+        int bufferSize = (int) getNumber(config, CFG_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+
         if (connectionstring != null && !connectionstring.isEmpty()) {
             try {
-                cloudClient = new CloudClient(connectionstring, commandEnabled, eventPublisher);
+                cloudClient = new CloudClient(connectionstring, commandEnabled, eventPublisher, batchSize,
+                        batchInterval, bufferSize);
                 logger.debug("Azure IoT Hub connector activated");
             } catch (Exception e) {
                 logger.error("Failed to setup Azure IoT Hub client");
@@ -117,6 +129,22 @@ public class CloudService implements EventSubscriber {
         logger.debug("Azure IoT Hub connector deactivated");
         if (cloudClient != null) {
             cloudClient.shutdown();
+            cloudClient = null;
+        }
+    }
+
+    private long getNumber(Map<String, ?> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for setting '{}', using default {}", value, key, defaultValue);
+            }
         }
+        return defaultValue;
     }
 }
@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Collects item state updates and sends them in batches through a {@link TelemetrySender}. Updates are queued per
+ * device and sent as soon as a device has collected a full batch, or at the latest after the flush interval. A batch
+ * of a single update is sent as a single datapoint, larger batches as a JSON array of datapoints. With batching
+ * enabled, every datapoint carries the time of the update, as it is not sent immediately.
+ *
+ * While updates can't be sent, they are kept in a bounded buffer. When the buffer is full, the oldest updates are
+ * dropped. Updates of a device for which no messages can be sent at all, e.g. because it can't be registered, are
+ * dropped right away, so they don't hold up the updates of other devices.
+ *
+ * @author agent - Initial contribution
+ */
+public class TelemetryBatcher {
+
+    static final String DATAPOINT_VALUE = "value";
+    static final String DATAPOINT_DEVICE_ID = "deviceId";
+    static final String DATAPOINT_TIMESTAMP = "timestamp";
+
+    private final Logger logger = LoggerFactory.getLogger(TelemetryBatcher.class);
+
+    private final TelemetrySender sender;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final int bufferSize;
+    private final boolean periodic;
+    private final Gson gson = new Gson();
+
+    /*
+     * Queued datapoints per device, in the order the devices got their first update
+     */
+    private final Map<String, Deque<JsonObject>> pending = new LinkedHashMap<>();
+    private int pendingCount;
+    private boolean flushScheduled;
+    private boolean offline;
+
+    private final Object flushLock = new Object();
+    private ScheduledFuture<?> flushJob;
+
+    private long sentMessages;
+    private long sentDatapoints;
+    private long failedMessages;
+    private long droppedDatapoints;
+
+    /**
+     * Constructor of TelemetryBatcher
+     *
+     * @param sender the sender used for the batches
+     * @param scheduler the scheduler to send the batches on
+     * @param batchSize the maximum number of datapoints per message
+     * @param flushInterval the maximum time in milliseconds an update is queued before it is sent
+     * @param bufferSize the maximum number of queued datapoints
+     */
+    public TelemetryBatcher(TelemetrySender sender, ScheduledExecutorService scheduler, int batchSize,
+            long flushInterval, int bufferSize) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.bufferSize = Math.max(this.batchSize, bufferSize);
+        this.periodic = flushInterval > 0;
+        if (periodic) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queues an item state update
+     *
+     * @param deviceId the id of the device, which is the item name
+     * @param state the new state
+     */
+    public void add(String deviceId, String state) {
+        JsonObject datapoint = new JsonObject();
+        datapoint.addProperty(DATAPOINT_DEVICE_ID, deviceId);
+        datapoint.addProperty(DATAPOINT_VALUE, state);
+        if (batchSize > 1) {
+            datapoint.addProperty(DATAPOINT_TIMESTAMP, System.currentTimeMillis());
+        }
+
+        boolean flushNow = false;
+        synchronized (pending) {
+            if (pendingCount >= bufferSize) {
+                dropOldest();
+            }
+            Deque<JsonObject> datapoints = pending.get(deviceId);
+            if (datapoints == null) {
+                datapoints = new ArrayDeque<>();
+                pending.put(deviceId, datapoints);
+            }
+            datapoints.add(datapoint);
+            pendingCount++;
+
+            // while offline, only the periodic flush retries sending
+            boolean full = datapoints.size() >= batchSize || !periodic;
+            if (full && !flushScheduled && (!offline || !periodic)) {
+                flushScheduled = true;
+                flushNow = true;
+            }
+        }
+
+        if (flushNow) {
+            // partial batches are left for the periodic flush
+            scheduler.execute(() -> flush(periodic));
+        }
+    }
+
+    /**
+     * Sends all queued datapoints. Stops when the IoT Hub can't be reached and keeps the remaining datapoints queued
+     * for the next attempt.
+     */
+    public void flush() {
+        flush(false);
+    }
+
+    /*
+     * Sends the queued datapoints, or only the full batches
+     */
+    private void flush(boolean fullBatchesOnly) {
+        synchronized (flushLock) {
+            synchronized (pending) {
+                flushScheduled = false;
+            }
+
+            int messages = 0;
+            while (true) {
+                String deviceId;
+                List<JsonObject> batch;
+                synchronized (pending) {
+                    Map.Entry<String, Deque<JsonObject>> entry = null;
+                    Iterator<Map.Entry<String, Deque<JsonObject>>> iterator = pending.entrySet().iterator();
+                    while (iterator.hasNext()) {
+                        Map.Entry<String, Deque<JsonObject>> candidate = iterator.next();
+                        if (!fullBatchesOnly || candidate.getValue().size() >= batchSize) {
+                            entry = candidate;
+                            break;
+                        }
+                    }
+                    if (entry == null) {
+                        break;
+                    }
+                    deviceId = entry.getKey();
+                    Deque<JsonObject> datapoints = entry.getValue();
+                    batch = new ArrayList<>(Math.min(batchSize, datapoints.size()));
+                    while (batch.size() < batchSize && !datapoints.isEmpty()) {
+                        batch.add(datapoints.poll());
+                    }
+                    pendingCount -= batch.size();
+                    iterator.remove();
+                    if (!datapoints.isEmpty()) {
+                        // remaining datapoints of this device go to the end of the queue
+                        pending.put(deviceId, datapoints);
+                    }
+                }
+
+                try {
+                    sender.send(deviceId, toPayload(batch));
+                    messages++;
+                    synchronized (pending) {
+                        offline = false;
+                        sentMessages++;
+                        sentDatapoints += batch.size();
+                    }
+                } catch (IOException e) {
+                    logger.debug("Failed to send telemetry for device {}, keeping {} datapoints queued: {}", deviceId,
+                            batch.size(), e.getMessage());
+                    requeue(deviceId, batch);
+                    break;
+                } catch (TelemetryDeviceException | RuntimeException e) {
+                    logger.warn("Failed to send telemetry for device {}, dropping {} datapoints: {}", deviceId,
+                            batch.size(), e.getMessage());
+                    synchronized (pending) {
+                        failedMessages++;
+                        droppedDatapoints += batch.size();
+                    }
+                }
+            }
+
+            if (messages > 0 && logger.isDebugEnabled()) {
+                logger.debug("Sent {} telemetry messages ({})", messages, getStatistics());
+            }
+        }
+    }
+
+    /**
+     * Stops sending and discards all queued datapoints
+     */
+    public void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        synchronized (pending) {
+            pending.clear();
+            pendingCount = 0;
+        }
+    }
+
+    public String getStatistics() {
+        synchronized (pending) {
+            return String.format("messages sent: %d, datapoints sent: %d, failed: %d, dropped: %d, queued: %d",
+                    sentMessages, sentDatapoints, failedMessages, droppedDatapoints, pendingCount);
+        }
+    }
+
+    public long getSentMessages() {
+        synchronized (pending) {
+            return sentMessages;
+        }
+    }
+
+    public long getSentDatapoints() {
+        synchronized (pending) {
+            return sentDatapoints;
+        }
+    }
+
+    public long getFailedMessages() {
+        synchronized (pending) {
+            return failedMessages;
+        }
+    }
+
+    public long getDroppedDatapoints() {
+        synchronized (pending) {
+            return droppedDatapoints;
+        }
+    }
+
+    public int getQueuedDatapoints() {
+        synchronized (pending) {
+            return pendingCount;
+        }
+    }
+
+    private String toPayload(List<JsonObject> batch) {
+        if (batch.size() == 1) {
+            return gson.toJson(batch.get(0));
+        }
+        JsonArray datapoints = new JsonArray();
+        for (JsonObject datapoint : batch) {
+            datapoints.add(datapoint);
+        }
+        return gson.toJson(datapoints);
+    }
+
+    /*
+     * Puts a batch which could not be sent back in front of the queue
+     */
+    private void requeue(String deviceId, List<JsonObject> batch) {
+        synchronized (pending) {
+            offline = true;
+            failedMessages++;
+
+            Deque<JsonObject> datapoints = pending.remove(deviceId);
+            if (datapoints == null) {
+                datapoints = new ArrayDeque<>();
+            }
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                datapoints.addFirst(batch.get(i));
+            }
+            pendingCount += batch.size();
+
+            Map<String, Deque<JsonObject>> others = new LinkedHashMap<>(pending);
+            pending.clear();
+            pending.put(deviceId, datapoints);
+            pending.putAll(others);
+
+            while (pendingCount > bufferSize) {
+                dropOldest();
+            }
+        }
+    }
+
+    /*
+     * Drops the oldest datapoint of the device queued longest, must be called with the lock on pending
+     */
+    private void dropOldest() {
+        Iterator<Deque<JsonObject>> iterator = pending.values().iterator();
+        if (iterator.hasNext()) {
+            Deque<JsonObject> datapoints = iterator.next();
+            datapoints.poll();
+            if (datapoints.isEmpty()) {
+                iterator.remove();
+            }
+            pendingCount--;
+            droppedDatapoints++;
+        }
+    }
+}
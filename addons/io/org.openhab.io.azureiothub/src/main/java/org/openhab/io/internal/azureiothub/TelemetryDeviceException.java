@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+/**
+ * Thrown by a {@link TelemetrySender} if messages can't be sent for a single device, e.g. because the device can't be
+ * registered in the IoT Hub. Unlike an {@link java.io.IOException}, it doesn't affect sending for other devices.
+ *
+ * @author agent - Initial contribution
+ */
+public class TelemetryDeviceException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public TelemetryDeviceException(String message) {
+        super(message);
+    }
+
+    public TelemetryDeviceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+import java.io.IOException;
+
+/**
+ * Sends telemetry messages on behalf of a device. The {@link TelemetryBatcher} only depends on this interface, so it
+ * can be used with a stub sender instead of a connection to the Azure IoT Hub.
+ *
+ * @author agent - Initial contribution
+ */
+public interface TelemetrySender {
+
+    /**
+     * Sends a message for the given device.
+     *
+     * @param deviceId the id of the device the message is sent for
+     * @param payload the JSON message body
+     * @throws IOException if the message could not be handed over for sending, e.g. because the connection to the
+     *             IoT Hub is down
+     * @throws TelemetryDeviceException if no message can be sent for this device, e.g. because it can't be registered
+     */
+    void send(String deviceId, String payload) throws IOException, TelemetryDeviceException;
+}
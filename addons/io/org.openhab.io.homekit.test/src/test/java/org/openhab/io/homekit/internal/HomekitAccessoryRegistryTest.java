@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
+
+import com.beowulfe.hap.HomekitRoot;
+
+/**
+ * Tests for binding characteristics to the grouped accessories of the {@link HomekitAccessoryRegistry}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitAccessoryRegistryTest {
+
+    private static final String GROUP = "thermostat";
+    private static final int ROOT_ID = 42;
+
+    private final HomekitAccessoryRegistry registry = new HomekitAccessoryRegistry();
+    private final HomekitRoot bridge = mock(HomekitRoot.class);
+
+    private final HomekitTaggedItem root = taggedItem(GROUP, ROOT_ID);
+    private final HomekitTaggedItem temperature = taggedItem("temperature", 0, GROUP);
+    private final HomekitTaggedItem target = taggedItem("target", 0, GROUP);
+
+    @Before
+    public void setUp() {
+        registry.setBridge(bridge);
+    }
+
+    @Test
+    public void testCharacteristicsAddedBeforeRoot() {
+        GroupedAccessory accessory = groupedAccessory(2);
+
+        registry.addCharacteristic(temperature);
+        registry.addCharacteristic(target);
+        registry.addRootDevice(accessory);
+
+        verify(accessory).addCharacteristic(temperature);
+        verify(accessory).addCharacteristic(target);
+        verify(bridge).addAccessory(accessory);
+    }
+
+    @Test
+    public void testCharacteristicsAddedAfterRoot() {
+        GroupedAccessory accessory = groupedAccessory(2);
+
+        registry.addRootDevice(accessory);
+        registry.addCharacteristic(temperature);
+        verify(bridge, never()).addAccessory(accessory);
+
+        registry.addCharacteristic(target);
+        verify(bridge).addAccessory(accessory);
+    }
+
+    @Test
+    public void testUpdatedRootGetsCharacteristicsAgain() {
+        GroupedAccessory accessory = groupedAccessory(2);
+        GroupedAccessory updatedAccessory = groupedAccessory(2);
+
+        registry.addCharacteristic(temperature);
+        registry.addRootDevice(accessory);
+        registry.addCharacteristic(target);
+        verify(bridge).addAccessory(accessory);
+
+        // An update of the root item removes and adds it again
+        registry.remove(root);
+        verify(bridge).removeAccessory(accessory);
+        registry.addRootDevice(updatedAccessory);
+
+        verify(updatedAccessory).addCharacteristic(temperature);
+        verify(updatedAccessory).addCharacteristic(target);
+        verify(bridge).addAccessory(updatedAccessory);
+    }
+
+    @Test
+    public void testRemovedCharacteristicIsNotAddedToUpdatedRoot() {
+        GroupedAccessory accessory = groupedAccessory(2);
+        GroupedAccessory updatedAccessory = groupedAccessory(2);
+
+        registry.addCharacteristic(temperature);
+        registry.addCharacteristic(target);
+        registry.addRootDevice(accessory);
+
+        registry.remove(target);
+        registry.remove(root);
+        registry.addRootDevice(updatedAccessory);
+
+        verify(updatedAccessory).addCharacteristic(temperature);
+        verify(updatedAccessory, never()).addCharacteristic(target);
+        verify(bridge, never()).addAccessory(updatedAccessory);
+    }
+
+    private static HomekitTaggedItem taggedItem(String name, int id, String... groupNames) {
+        Item item = mock(Item.class);
+        HomekitTaggedItem taggedItem = mock(HomekitTaggedItem.class);
+
+        when(item.getName()).thenReturn(name);
+        when(item.getGroupNames()).thenReturn(Arrays.asList(groupNames));
+        when(taggedItem.getItem()).thenReturn(item);
+        when(taggedItem.getId()).thenReturn(id);
+        when(taggedItem.isRootDevice()).thenReturn(id != 0);
+        return taggedItem;
+    }
+
+    /**
+     * @return a grouped accessory for the root item, which is complete once it got the given number of characteristics
+     */
+    private static GroupedAccessory groupedAccessory(int characteristics) {
+        GroupedAccessory accessory = mock(GroupedAccessory.class);
+        AtomicInteger added = new AtomicInteger();
+
+        when(accessory.getId()).thenReturn(ROOT_ID);
+        when(accessory.getGroupName()).thenReturn(GROUP);
+        doAnswer(invocation -> added.incrementAndGet()).when(accessory).addCharacteristic(any());
+        when(accessory.isComplete()).thenAnswer(invocation -> added.get() >= characteristics);
+        return accessory;
+    }
+}
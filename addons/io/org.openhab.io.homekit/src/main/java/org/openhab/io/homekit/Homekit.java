@@ -33,4 +33,19 @@ public interface Homekit {
      * @param allow boolean indicating whether or not to allow unauthenticated requests
      */
     void allowUnauthenticatedRequests(boolean allow);
+
+    /**
+     * Returns the number of characteristic change notifications sent to HomeKit clients.
+     *
+     * @return number of sent notifications
+     */
+    long getSentNotificationCount();
+
+    /**
+     * Returns the number of item state changes that were coalesced into a pending notification
+     * because of the minimum notification interval.
+     *
+     * @return number of suppressed notifications
+     */
+    long getSuppressedNotificationCount();
 }
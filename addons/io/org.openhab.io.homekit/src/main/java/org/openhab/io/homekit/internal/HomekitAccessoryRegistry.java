@@ -9,10 +9,8 @@
 package org.openhab.io.homekit.internal;
 
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,49 +25,68 @@ import com.beowulfe.hap.HomekitRoot;
  * Stores the created HomekitAccessories. GroupedAccessories are also held here
  * in a pre-created pending state until all required characteristics are found.
  *
+ * Created accessories are indexed by accessory id and characteristics by the names
+ * of the groups they belong to, so that binding a characteristic to its group and
+ * removing an accessory do not require scanning everything created so far.
+ * Characteristics stay indexed until their item is removed, as a GroupedAccessory
+ * created again for an updated root item needs them as well.
+ *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
 
     private HomekitRoot bridge;
-    private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
-    private final Set<Integer> createdIds = new HashSet<>();
+    private final Map<Integer, HomekitAccessory> createdAccessories = new LinkedHashMap<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
-    private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
+    private final Map<String, Set<HomekitTaggedItem>> characteristicsByGroup = new HashMap<>();
+    private final Map<String, HomekitTaggedItem> characteristicsByItem = new HashMap<>();
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
-        Iterator<HomekitAccessory> i = createdAccessories.iterator();
-        while (i.hasNext()) {
-            HomekitAccessory accessory = i.next();
-            if (accessory.getId() == taggedItem.getId()) {
-                logger.debug("Removed accessory {}", accessory.getId());
+    public synchronized void remove(HomekitTaggedItem taggedItem) {
+        HomekitAccessory accessory = createdAccessories.remove(taggedItem.getId());
+        if (accessory != null) {
+            logger.debug("Removed accessory {}", accessory.getId());
+            if (bridge != null) {
                 bridge.removeAccessory(accessory);
-                i.remove();
             }
         }
+        if (taggedItem.isRootDevice()) {
+            pendingGroupedAccessories.remove(taggedItem.getItem().getName());
+        }
+        HomekitTaggedItem characteristic = characteristicsByItem.get(taggedItem.getItem().getName());
+        if (characteristic != null) {
+            removeCharacteristic(characteristic);
+            logger.debug("Removed characteristic {}", taggedItem.getItem().getName());
+        }
     }
 
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
+        if (bridge != null) {
+            createdAccessories.values().forEach(accessory -> bridge.removeAccessory(accessory));
         }
-        createdIds.clear();
+        createdAccessories.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        if (bridge != null) {
+            createdAccessories.values().forEach(accessory -> bridge.addAccessory(accessory));
+        }
     }
 
     public synchronized void addRootDevice(HomekitAccessory accessory) {
         if (accessory instanceof GroupedAccessory) {
             GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
-            pendingGroupedAccessories.put(groupedAccessory.getGroupName(), groupedAccessory);
-            for (HomekitTaggedItem characteristic : pendingCharacteristics) {
-                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())) {
-                    addCharacteristicToGroup(groupedAccessory.getGroupName(), characteristic);
+            String groupName = groupedAccessory.getGroupName();
+            pendingGroupedAccessories.put(groupName, groupedAccessory);
+            Set<HomekitTaggedItem> characteristics = characteristicsByGroup.get(groupName);
+            if (characteristics != null) {
+                for (HomekitTaggedItem characteristic : characteristics) {
+                    if (!pendingGroupedAccessories.containsKey(groupName)) {
+                        break;
+                    }
+                    addCharacteristicToGroup(groupName, characteristic);
                 }
             }
         } else {
@@ -78,6 +95,14 @@ class HomekitAccessoryRegistry {
     }
 
     public synchronized void addCharacteristic(HomekitTaggedItem item) {
+        HomekitTaggedItem previous = characteristicsByItem.put(item.getItem().getName(), item);
+        if (previous != null) {
+            removeCharacteristic(previous);
+            characteristicsByItem.put(item.getItem().getName(), item);
+        }
+        for (String group : item.getItem().getGroupNames()) {
+            characteristicsByGroup.computeIfAbsent(group, k -> new LinkedHashSet<>()).add(item);
+        }
         for (String group : item.getItem().getGroupNames()) {
             if (pendingGroupedAccessories.containsKey(group)) {
                 addCharacteristicToGroup(group, item);
@@ -85,10 +110,22 @@ class HomekitAccessoryRegistry {
                 return;
             }
         }
-        pendingCharacteristics.add(item);
         logger.debug("Stored {} until group is ready", item.getItem().getName());
     }
 
+    private void removeCharacteristic(HomekitTaggedItem item) {
+        characteristicsByItem.remove(item.getItem().getName(), item);
+        for (String group : item.getItem().getGroupNames()) {
+            Set<HomekitTaggedItem> characteristics = characteristicsByGroup.get(group);
+            if (characteristics != null) {
+                characteristics.remove(item);
+                if (characteristics.isEmpty()) {
+                    characteristicsByGroup.remove(group);
+                }
+            }
+        }
+    }
+
     private void addCharacteristicToGroup(String group, HomekitTaggedItem item) {
         GroupedAccessory accessory = pendingGroupedAccessories.get(group);
         accessory.addCharacteristic(item);
@@ -99,8 +136,7 @@ class HomekitAccessoryRegistry {
     }
 
     private void doAddDevice(HomekitAccessory accessory) {
-        createdAccessories.add(accessory);
-        createdIds.add(accessory.getId());
+        createdAccessories.put(accessory.getId(), accessory);
         if (bridge != null) {
             bridge.addAccessory(accessory);
         }
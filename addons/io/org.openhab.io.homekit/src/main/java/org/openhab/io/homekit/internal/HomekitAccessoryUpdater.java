@@ -10,7 +10,12 @@ package org.openhab.io.homekit.internal;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -26,12 +31,23 @@ import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Notifications are not sent on the thread that changed the item state. Instead, they are
+ * dispatched from a shared scheduler and rate limited per characteristic: changes arriving
+ * within the minimum notification interval are coalesced into a single notification, which
+ * makes the clients read the latest value.
+ *
  * @author Andy Lintner
  */
 public class HomekitAccessoryUpdater {
 
+    private static final String THREADPOOL_NAME = "homekit";
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final AtomicLong sentNotifications = new AtomicLong();
+    private final AtomicLong suppressedNotifications = new AtomicLong();
+    private volatile long minimumNotificationInterval = HomekitSettings.DEFAULT_MINIMUM_NOTIFICATION_INTERVAL;
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -50,7 +66,7 @@ public class HomekitAccessoryUpdater {
                 logger.error("Received duplicate subscription on {}", item.getName());
                 unsubscribe(item, key);
             }
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -66,20 +82,82 @@ public class HomekitAccessoryUpdater {
         }
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             item.removeStateChangeListener(v);
+            v.cancel();
             return null;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * Sets the minimum time between two change notifications of the same characteristic.
+     *
+     * @param minimumNotificationInterval interval in milliseconds, 0 disables rate limiting
+     */
+    public void setMinimumNotificationInterval(long minimumNotificationInterval) {
+        this.minimumNotificationInterval = Math.max(0, minimumNotificationInterval);
+    }
+
+    /**
+     * @return number of change notifications sent to HomeKit clients
+     */
+    public long getSentNotificationCount() {
+        return sentNotifications.get();
+    }
+
+    /**
+     * @return number of state changes that were coalesced into an already pending notification
+     */
+    public long getSuppressedNotificationCount() {
+        return suppressedNotifications.get();
+    }
+
+    private class Subscription implements StateChangeListener {
+
+        private final HomekitCharacteristicChangeCallback callback;
+        private ScheduledFuture<?> pendingNotification;
+        private long lastNotification;
+
+        public Subscription(HomekitCharacteristicChangeCallback callback) {
+            this.callback = callback;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public synchronized void stateChanged(Item item, State oldState, State newState) {
+            if (pendingNotification != null) {
+                // the pending notification will report the latest state
+                suppressedNotifications.incrementAndGet();
+                return;
+            }
+            long delay = Math.max(0, lastNotification + minimumNotificationInterval - System.currentTimeMillis());
+            pendingNotification = scheduler.schedule(this::notifyChanged, delay, TimeUnit.MILLISECONDS);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
+
+        public synchronized void cancel() {
+            if (pendingNotification != null) {
+                pendingNotification.cancel(false);
+                pendingNotification = null;
+            }
+        }
+
+        private void notifyChanged() {
+            synchronized (this) {
+                if (pendingNotification == null) {
+                    return;
+                }
+                pendingNotification = null;
+                lastNotification = System.currentTimeMillis();
+            }
+            try {
+                callback.changed();
+                sentNotifications.incrementAndGet();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify HomeKit clients of a change: {}", e.getMessage(), e);
+            }
+        }
     }
 
     private static class ItemKey {
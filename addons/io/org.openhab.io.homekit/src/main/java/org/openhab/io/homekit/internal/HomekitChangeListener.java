@@ -9,6 +9,8 @@
 package org.openhab.io.homekit.internal;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -32,11 +34,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private HomekitSettings settings;
+    private final Map<String, HomekitTaggedItem> taggedItemsByName = new HashMap<>();
 
     @Override
     public synchronized void added(Item item) {
         HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
         if (taggedItem.isTagged()) {
+            taggedItemsByName.put(item.getName(), taggedItem);
             if (taggedItem.isRootDevice()) {
                 createRootDevice(taggedItem);
             }
@@ -53,20 +57,22 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     @Override
     public synchronized void removed(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
+        // reuse the tagged item created on add instead of resolving the tags and groups again
+        HomekitTaggedItem taggedItem = taggedItemsByName.remove(item.getName());
+        if (taggedItem != null) {
             accessoryRegistry.remove(taggedItem);
         }
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
+    public synchronized void updated(Item oldElement, Item element) {
         removed(oldElement);
         added(element);
     }
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        taggedItemsByName.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -83,8 +89,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.updater = updater;
     }
 
+    public HomekitAccessoryUpdater getUpdater() {
+        return updater;
+    }
+
     public void setSettings(HomekitSettings settings) {
         this.settings = settings;
+        updater.setMinimumNotificationInterval(settings.getMinimumNotificationInterval());
     }
 
     public void stop() {
@@ -93,6 +93,16 @@ public class HomekitImpl implements Homekit {
         }
     }
 
+    @Override
+    public long getSentNotificationCount() {
+        return changeListener.getUpdater().getSentNotificationCount();
+    }
+
+    @Override
+    public long getSuppressedNotificationCount() {
+        return changeListener.getUpdater().getSuppressedNotificationCount();
+    }
+
     private void start() throws IOException, InvalidAlgorithmParameterException {
         homekit = new HomekitServer(settings.getNetworkInterface(), settings.getPort());
         bridge = homekit.createBridge(new HomekitAuthInfoImpl(storageService, settings.getPin()), settings.getName(),
@@ -26,6 +26,7 @@ public class HomekitSettings {
     private static final String NAME = "openHAB";
     private static final String MANUFACTURER = "openHAB";
     private static final String SERIAL_NUMBER = "none";
+    public static final long DEFAULT_MINIMUM_NOTIFICATION_INTERVAL = 1000;
 
     /* Name under which openHAB announces itself as HomeKit bridge (#1946) */
     private String name = NAME;
@@ -39,6 +40,7 @@ public class HomekitSettings {
     private String thermostatAutoMode = "Auto";
     private String thermostatOffMode = "Off";
     private InetAddress networkInterface;
+    private long minimumNotificationInterval = DEFAULT_MINIMUM_NOTIFICATION_INTERVAL;
 
     private final Logger logger = LoggerFactory.getLogger(HomekitSettings.class);
 
@@ -74,6 +76,10 @@ public class HomekitSettings {
         if (maximumTemperature != null) {
             this.maximumTemperature = Double.parseDouble(maximumTemperature.toString());
         }
+        Object minimumNotificationInterval = properties.get("minimumNotificationInterval");
+        if (minimumNotificationInterval != null) {
+            this.minimumNotificationInterval = Long.parseLong(minimumNotificationInterval.toString());
+        }
         this.thermostatHeatMode = (String) properties.get("thermostatHeatMode");
         this.thermostatCoolMode = (String) properties.get("thermostatCoolMode");
         this.thermostatAutoMode = (String) properties.get("thermostatAutoMode");
@@ -132,6 +138,10 @@ public class HomekitSettings {
         return minimumTemperature;
     }
 
+    public long getMinimumNotificationInterval() {
+        return minimumNotificationInterval;
+    }
+
     public String getThermostatHeatMode() {
         return thermostatHeatMode;
     }
@@ -157,6 +167,7 @@ public class HomekitSettings {
         result = prime * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(minimumTemperature);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + (int) (minimumNotificationInterval ^ (minimumNotificationInterval >>> 32));
         result = prime * result + ((pin == null) ? 0 : pin.hashCode());
         result = prime * result + port;
         result = prime * result + ((thermostatAutoMode == null) ? 0 : thermostatAutoMode.hashCode());
@@ -185,6 +196,9 @@ public class HomekitSettings {
         if (Double.doubleToLongBits(minimumTemperature) != Double.doubleToLongBits(other.minimumTemperature)) {
             return false;
         }
+        if (minimumNotificationInterval != other.minimumNotificationInterval) {
+            return false;
+        }
         if (pin == null) {
             if (other.pin != null) {
                 return false;
@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.ArrayUtils;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Keeps track of the items exposed as Hue devices and their numeric Hue ids.
+ *
+ * The index is maintained through item registry change events, so readers never have to
+ * scan the item registry. Readers do not take any lock, only modifications are serialized.
+ * Changes of the id mapping are written to disk asynchronously.
+ *
+ * A {@link DeviceChangeListener} is informed whenever the state of an exposed item or the set of
+ * exposed items changes.
+ *
+ * @author agent - Initial Contribution
+ */
+public class HueDeviceIndex implements ItemRegistryChangeListener, StateChangeListener {
+    private static final String[] SUPPORTED_TAGS = new String[] { "Switchable", "Lighting" };
+    private static final String THREADPOOL_NAME = "hueemulation";
+    private static final long PERSIST_DELAY_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(HueDeviceIndex.class);
+    private final Gson gson = new Gson();
+    private final File file;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final AtomicBoolean persistScheduled = new AtomicBoolean();
+
+    // maps a Hue numeric id to an item name, ordered by that id
+    private final ConcurrentSkipListMap<Integer, String> deviceMap = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> idsByItemName = new ConcurrentHashMap<>();
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+    private ItemRegistry itemRegistry;
+    private DeviceChangeListener changeListener;
+
+    /**
+     * Informed about changes of exposed devices
+     */
+    public interface DeviceChangeListener {
+        /**
+         * The state of the device with the given Hue id changed
+         */
+        void deviceChanged(Integer id);
+
+        /**
+         * Devices were added, removed or reconfigured
+         */
+        void deviceListChanged();
+    }
+
+    public HueDeviceIndex(File file) {
+        this.file = file;
+    }
+
+    public void setChangeListener(DeviceChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Loads the persisted id mapping from disk
+     */
+    public synchronized void load() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        JsonReader reader = null;
+        try {
+            reader = new JsonReader(new FileReader(file));
+            Map<Integer, String> tmpMap = gson.fromJson(reader, new TypeToken<Map<Integer, String>>() {
+            }.getType());
+            if (tmpMap != null) {
+                tmpMap.forEach((id, itemName) -> {
+                    deviceMap.put(id, itemName);
+                    idsByItemName.put(itemName, id);
+                });
+            }
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Starts listening to the given registry and synchronizes the index with its content
+     */
+    public synchronized void start(ItemRegistry itemRegistry) {
+        stop();
+        this.itemRegistry = itemRegistry;
+        itemRegistry.addRegistryChangeListener(this);
+        synchronize();
+    }
+
+    /**
+     * Stops listening to the item registry and writes pending id mapping changes
+     */
+    public synchronized void stop() {
+        if (itemRegistry != null) {
+            itemRegistry.removeRegistryChangeListener(this);
+            itemRegistry = null;
+        }
+        items.values().forEach(this::unwatch);
+        items.clear();
+        notifyDeviceListChanged();
+        if (persistScheduled.get()) {
+            persist();
+        }
+    }
+
+    /**
+     * Returns the exposed items ordered by their Hue id. The returned map is a snapshot and may
+     * be modified by the caller.
+     */
+    public NavigableMap<Integer, Item> getDevices() {
+        NavigableMap<Integer, Item> devices = new TreeMap<>();
+        for (Map.Entry<Integer, String> entry : deviceMap.entrySet()) {
+            Item item = items.get(entry.getValue());
+            if (item != null) {
+                devices.put(entry.getKey(), item);
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * Returns the exposed item with the given Hue id or null if there is none
+     */
+    public Item getDevice(Integer id) {
+        String itemName = deviceMap.get(id);
+        return itemName == null ? null : items.get(itemName);
+    }
+
+    /**
+     * Returns the Hue ids of all exposed items in ascending order. Ids kept for items which are not in the item
+     * registry, e.g. loaded from disk before the registry is synchronized, are left out. The returned set is a
+     * snapshot.
+     */
+    public Set<Integer> getDeviceIds() {
+        Set<Integer> ids = new TreeSet<>();
+        for (Map.Entry<Integer, String> entry : deviceMap.entrySet()) {
+            if (items.containsKey(entry.getValue())) {
+                ids.add(entry.getKey());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized void added(Item item) {
+        if (isExposed(item)) {
+            expose(item);
+        }
+    }
+
+    @Override
+    public synchronized void removed(Item item) {
+        Item exposed = items.remove(item.getName());
+        if (exposed != null) {
+            unwatch(exposed);
+            Integer id = idsByItemName.remove(item.getName());
+            if (id != null) {
+                deviceMap.remove(id);
+                schedulePersist();
+            }
+            notifyDeviceListChanged();
+        }
+    }
+
+    @Override
+    public synchronized void updated(Item oldItem, Item item) {
+        if (isExposed(item)) {
+            expose(item);
+        } else {
+            removed(oldItem);
+        }
+    }
+
+    @Override
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        synchronize();
+    }
+
+    @Override
+    public void stateChanged(Item item, State oldState, State newState) {
+        Integer id = idsByItemName.get(item.getName());
+        DeviceChangeListener listener = changeListener;
+        if (id != null && listener != null) {
+            listener.deviceChanged(id);
+        }
+    }
+
+    @Override
+    public void stateUpdated(Item item, State state) {
+        // only changes are relevant
+    }
+
+    /**
+     * Rebuilds the index from the full item registry, keeping the ids of items that are still exposed
+     */
+    private void synchronize() {
+        if (itemRegistry == null) {
+            return;
+        }
+        items.values().forEach(this::unwatch);
+        items.clear();
+        for (Item item : itemRegistry.getItems()) {
+            if (isExposed(item)) {
+                expose(item);
+            }
+        }
+
+        Set<String> removedItems = new HashSet<>(idsByItemName.keySet());
+        removedItems.removeAll(items.keySet());
+        for (String itemName : removedItems) {
+            deviceMap.remove(idsByItemName.remove(itemName));
+        }
+        if (!removedItems.isEmpty()) {
+            schedulePersist();
+        }
+        notifyDeviceListChanged();
+    }
+
+    private void expose(Item item) {
+        Item previous = items.put(item.getName(), item);
+        if (previous != null) {
+            unwatch(previous);
+        }
+        if (item instanceof GenericItem) {
+            ((GenericItem) item).addStateChangeListener(this);
+        }
+        notifyDeviceListChanged();
+        if (!idsByItemName.containsKey(item.getName())) {
+            // hue devices are assigned a numeric number starting with 1, if a device is
+            // removed that number is not used again. Not sure how high this id can get
+            // not worrying about it here
+            Integer next = deviceMap.isEmpty() ? 1 : new Integer(deviceMap.lastKey().intValue() + 1);
+            deviceMap.put(next, item.getName());
+            idsByItemName.put(item.getName(), next);
+            schedulePersist();
+        }
+    }
+
+    private void unwatch(Item item) {
+        if (item instanceof GenericItem) {
+            ((GenericItem) item).removeStateChangeListener(this);
+        }
+    }
+
+    private void notifyDeviceListChanged() {
+        DeviceChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.deviceListChanged();
+        }
+    }
+
+    private boolean isExposed(Item item) {
+        for (String tag : item.getTags()) {
+            if (ArrayUtils.contains(SUPPORTED_TAGS, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void schedulePersist() {
+        if (persistScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::persist, PERSIST_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void persist() {
+        if (!persistScheduled.compareAndSet(true, false)) {
+            return;
+        }
+        synchronized (file) {
+            Map<Integer, String> snapshot = new TreeMap<>(deviceMap);
+            JsonWriter writer = null;
+            try {
+                file.getParentFile().mkdirs();
+                writer = new JsonWriter(new FileWriter(file));
+                gson.toJson(snapshot, new TypeToken<Map<Integer, String>>() {
+                }.getType(), writer);
+            } catch (IOException e) {
+                logger.error("Could not persist item cache", e);
+            } finally {
+                IOUtils.closeQuietly(writer);
+            }
+        }
+    }
+}
@@ -11,21 +11,15 @@ package org.openhab.io.hueemulation.internal;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Dictionary;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 
@@ -35,7 +29,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.Item;
@@ -48,6 +41,7 @@ import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
+import org.openhab.io.hueemulation.internal.HueResponseCache.CachedResponse;
 import org.openhab.io.hueemulation.internal.api.HueCreateUser;
 import org.openhab.io.hueemulation.internal.api.HueDataStore;
 import org.openhab.io.hueemulation.internal.api.HueDevice;
@@ -60,9 +54,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
 
 /**
  * Emulates A Hue compatible HTTP API server
@@ -91,7 +82,6 @@ public class HueEmulationServlet extends HttpServlet {
             ConfigConstants.getUserDataFolder() + File.separator + "hueemulation" + File.separator + "udn");
     private static final File ITEM_FILE = new File(
             ConfigConstants.getUserDataFolder() + File.separator + "hueemulation" + File.separator + "items");
-    private static final String[] SUPPORTED_TAGS = new String[] { "Switchable", "Lighting" };
     private Gson gson = new Gson();
     private HttpService httpService;
     private ItemRegistry itemRegistry;
@@ -103,10 +93,14 @@ public class HueEmulationServlet extends HttpServlet {
     private boolean pairingEnabled = false;
     // list of valid Hue API user ids
     private List<String> userNames = new ArrayList<>();
-    // deviceMap maps a Hue numeric id to a Item Name, ordered by that id
-    private TreeMap<Integer, String> deviceMap = new TreeMap<>();
+    // exposed items by their Hue numeric id
+    private final HueDeviceIndex deviceIndex = new HueDeviceIndex(ITEM_FILE);
+    // serialized responses, invalidated by the device index
+    private final HueResponseCache responseCache = new HueResponseCache();
+    private boolean active = false;
 
     protected void activate(Map<String, Object> config) {
+        deviceIndex.setChangeListener(responseCache);
         modified(config);
         try {
             Dictionary<String, String> servletParams = new Hashtable<String, String>();
@@ -123,21 +117,12 @@ public class HueEmulationServlet extends HttpServlet {
                 }
             }
 
-            // load item list from disk
-            if (ITEM_FILE.exists()) {
-                JsonReader reader = null;
-                try {
-                    reader = new JsonReader(new FileReader(ITEM_FILE));
-                    LinkedHashMap<Integer, String> tmpMap = gson.fromJson(reader,
-                            new TypeToken<Map<Integer, String>>() {
-                            }.getType());
-                    if (tmpMap != null) {
-                        deviceMap.putAll(tmpMap);
-                    }
-                } finally {
-                    IOUtils.closeQuietly(reader);
-                }
+            // load item list from disk and keep it in sync with the item registry
+            deviceIndex.load();
+            if (itemRegistry != null) {
+                deviceIndex.start(itemRegistry);
             }
+            active = true;
             logger.info("Started Hue Emulation service at " + PATH);
         } catch (Exception e) {
             logger.error("Could not start Hue Emulation service: {}", e.getMessage(), e);
@@ -176,6 +161,7 @@ public class HueEmulationServlet extends HttpServlet {
     }
 
     protected void deactivate(ComponentContext componentContext) {
+        active = false;
         try {
             httpService.unregister(PATH);
         } catch (IllegalArgumentException ignored) {
@@ -183,13 +169,18 @@ public class HueEmulationServlet extends HttpServlet {
         if (disco != null) {
             disco.shutdown();
         }
+        deviceIndex.stop();
     }
 
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        if (active) {
+            deviceIndex.start(itemRegistry);
+        }
     }
 
     protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        deviceIndex.stop();
         this.itemRegistry = null;
     }
 
@@ -257,7 +248,7 @@ public class HueEmulationServlet extends HttpServlet {
                     /**
                      * /api/{username}
                      */
-                    apiDataStore(req, resp);
+                    apiDataStore(req, resp, out);
                 } else {
                     String function = pathParts[1];
                     if ("lights".equals(function)) {
@@ -266,13 +257,13 @@ public class HueEmulationServlet extends HttpServlet {
                                 /**
                                  * /api/{username}/lights
                                  */
-                                apiLights(req, out);
+                                apiLights(req, resp, out);
                                 break;
                             case 3:
                                 /**
                                  * /api/{username}/lights/{id}
                                  */
-                                apiLight(pathParts[2], req, out);
+                                apiLight(pathParts[2], req, resp, out);
                                 break;
                             case 4:
                                 /**
@@ -319,8 +310,10 @@ public class HueEmulationServlet extends HttpServlet {
             return;
         }
         try {
-            // will throw exception if not found
-            Item item = itemRegistry.getItem(deviceMap.get(new Integer(id)));
+            Item item = deviceIndex.getDevice(new Integer(id));
+            if (item == null) {
+                throw new ItemNotFoundException(id);
+            }
             HueState state = gson.fromJson(req.getReader(), HueState.class);
             HSBType hsb = state.toHSBType();
             logger.debug("HuState {}", state);
@@ -364,23 +357,26 @@ public class HueEmulationServlet extends HttpServlet {
     /**
      * Hue API call to get the state of a single light
      */
-    private void apiLight(String id, HttpServletRequest req, PrintWriter out) throws IOException {
-        HueDevice device = getHueDevices().get(new Integer(id));
+    private void apiLight(String id, HttpServletRequest req, HttpServletResponse resp, PrintWriter out)
+            throws IOException {
+        Integer key = new Integer(id);
+        Item item = deviceIndex.getDevice(key);
 
-        if (device == null) {
+        if (item == null) {
             logger.error("\"Could not find light for id {}. ", id);
             apiServerError(req, out, HueErrorResponse.NOT_AVAILABLE, "Light " + id + " does not exist.");
             return;
         } else {
-            out.write(gson.toJson(device));
+            writeCachedResponse(req, resp, out,
+                    responseCache.getDevice(key, () -> gson.toJson(itemToDevice(item, key))));
         }
     }
 
     /**
      * Hue API call to get a listing of all lights
      */
-    public void apiLights(HttpServletRequest req, PrintWriter out) throws IOException {
-        out.write(gson.toJson(getHueDevices()));
+    public void apiLights(HttpServletRequest req, HttpServletResponse resp, PrintWriter out) throws IOException {
+        writeCachedResponse(req, resp, out, responseCache.getLights(() -> gson.toJson(getHueDevices())));
     }
 
     /**
@@ -388,7 +384,7 @@ public class HueEmulationServlet extends HttpServlet {
      */
     public void apiGroupZero(HttpServletRequest req, PrintWriter out) throws IOException {
         List<String> lights = new LinkedList<String>();
-        for (Integer key : deviceMap.keySet()) {
+        for (Integer key : deviceIndex.getDeviceIds()) {
             lights.add(key.toString());
         }
         HueState action = new HueState();
@@ -398,11 +394,25 @@ public class HueEmulationServlet extends HttpServlet {
     /**
      * HUE API call to get the Data Store of the bridge (only lights supported for now)
      */
-    public void apiDataStore(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        PrintWriter out = resp.getWriter();
-        HueDataStore ds = new HueDataStore();
-        ds.lights = getHueDevices();
-        out.write(gson.toJson(ds));
+    public void apiDataStore(HttpServletRequest req, HttpServletResponse resp, PrintWriter out) throws IOException {
+        writeCachedResponse(req, resp, out, responseCache.getDataStore(() -> {
+            HueDataStore ds = new HueDataStore();
+            ds.lights = getHueDevices();
+            return gson.toJson(ds);
+        }));
+    }
+
+    /**
+     * Writes a cached response, or only a "304 Not Modified" status if the client already has it
+     */
+    private void writeCachedResponse(HttpServletRequest req, HttpServletResponse resp, PrintWriter out,
+            CachedResponse response) {
+        resp.setHeader("ETag", response.etag);
+        if (response.etag.equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        out.write(response.json);
     }
 
     /**
@@ -489,68 +499,12 @@ public class HueEmulationServlet extends HttpServlet {
     }
 
     /**
-     * Gets and syncs all items tagged for voice.
+     * Gets all items tagged for voice.
      */
-    private synchronized TreeMap<Integer, HueDevice> getHueDevices() {
+    private TreeMap<Integer, HueDevice> getHueDevices() {
         TreeMap<Integer, HueDevice> returnMap = new TreeMap<Integer, HueDevice>();
-        HashMap<String, Item> taggedItems = new HashMap<String, Item>();
-
-        // if we modify our internal map, persist it to disk
-        boolean modified = false;
-
-        // get all tagged items
-        for (Item item : itemRegistry.getItems()) {
-            for (String tag : item.getTags()) {
-                if (ArrayUtils.contains(SUPPORTED_TAGS, tag)) {
-                    taggedItems.put(item.getName(), item);
-                    if (!deviceMap.containsValue(item.getName())) {
-                        // hue devices are assigned a numeric number starting with 1, if a device is
-                        // removed that number is not used again. Not sure how high this id can get
-                        // not worrying about it here
-                        Integer next = deviceMap.size() == 0 ? 1 : new Integer(deviceMap.lastKey().intValue() + 1);
-                        deviceMap.put(next, item.getName());
-                        modified = true;
-                    }
-                    break;
-                }
-            }
-        }
-
-        Set<Integer> keysToRemove = new HashSet<>();
-
-        // clean up removed entries
-        for (Map.Entry<Integer, String> entry : deviceMap.entrySet()) {
-            String itemName = entry.getValue();
-            if (!taggedItems.containsKey(itemName)) {
-                keysToRemove.add(entry.getKey());
-                modified = true;
-            }
-        }
-
-        for (Integer key : keysToRemove) {
-            deviceMap.remove(key);
-        }
-
-        // for each entry, lookup the item and convert it to a hue device
-        for (Integer key : deviceMap.keySet()) {
-            try {
-                returnMap.put(key, itemToDevice(itemRegistry.getItem(deviceMap.get(key)), key));
-            } catch (ItemNotFoundException e) {
-                logger.warn("Could not find item", e);
-            }
-        }
-
-        if (modified) {
-            JsonWriter writer = null;
-            try {
-                writer = new JsonWriter(new FileWriter(ITEM_FILE));
-                gson.toJson(deviceMap, new TypeToken<Map<Integer, String>>() {
-                }.getType(), writer);
-            } catch (IOException e) {
-                logger.error("Could not persist item cache", e);
-            } finally {
-                IOUtils.closeQuietly(writer);
-            }
+        for (Map.Entry<Integer, Item> entry : deviceIndex.getDevices().entrySet()) {
+            returnMap.put(entry.getKey(), itemToDevice(entry.getValue(), entry.getKey()));
         }
         return returnMap;
     }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized JSON responses of the Hue API. Entries are created on first request and
+ * dropped when the state or the list of the exposed devices changes, so repeated polls are
+ * answered without serializing anything.
+ *
+ * @author agent - Initial Contribution
+ */
+public class HueResponseCache implements HueDeviceIndex.DeviceChangeListener {
+    private static final String KEY_LIGHTS = "lights";
+    private static final String KEY_DATASTORE = "datastore";
+
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    /*
+     * Every cached response gets a new version. The start time keeps entity tags of a previous run from matching.
+     */
+    private final String etagPrefix = "\"" + Long.toHexString(System.currentTimeMillis()) + "-";
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * A serialized response together with its entity tag
+     */
+    public static class CachedResponse {
+        public final String json;
+        public final String etag;
+
+        CachedResponse(String json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+    }
+
+    public CachedResponse getLights(Supplier<String> serializer) {
+        return responses.computeIfAbsent(KEY_LIGHTS, k -> createResponse(serializer));
+    }
+
+    public CachedResponse getDataStore(Supplier<String> serializer) {
+        return responses.computeIfAbsent(KEY_DATASTORE, k -> createResponse(serializer));
+    }
+
+    public CachedResponse getDevice(Integer id, Supplier<String> serializer) {
+        return responses.computeIfAbsent(id.toString(), k -> createResponse(serializer));
+    }
+
+    @Override
+    public void deviceChanged(Integer id) {
+        responses.remove(id.toString());
+        responses.remove(KEY_LIGHTS);
+        responses.remove(KEY_DATASTORE);
+    }
+
+    @Override
+    public void deviceListChanged() {
+        responses.clear();
+    }
+
+    private CachedResponse createResponse(Supplier<String> serializer) {
+        return new CachedResponse(serializer.get(), etagPrefix + Long.toHexString(version.incrementAndGet()) + "\"");
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
+import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig.HistoryAggregation;
+import org.openhab.io.imperihome.internal.handler.DeviceHistoryHandler.HistorySampler;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
+import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+
+/**
+ * Tests for the down-sampling, period alignment and caching of the {@link DeviceHistoryHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceHistoryHandlerTest {
+
+    private static final Pattern URL_PATTERN = Pattern.compile("/devices/(.+?)/(.+?)/histo/(.+?)/(.+?)$");
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private final QueryablePersistenceService persistence = mock(QueryablePersistenceService.class);
+    private final ImperiHomeConfig config = mock(ImperiHomeConfig.class);
+
+    private DeviceHistoryHandler handler;
+
+    @Before
+    public void setUp() {
+        DeviceRegistry deviceRegistry = mock(DeviceRegistry.class);
+        AbstractDevice device = mock(AbstractDevice.class);
+        PersistenceServiceRegistry persistenceServiceRegistry = mock(PersistenceServiceRegistry.class);
+
+        when(device.getItemName()).thenReturn("item");
+        when(deviceRegistry.getDevice("device")).thenReturn(device);
+        when(persistence.getId()).thenReturn("persistence");
+        when(persistence.query(any())).thenReturn(Collections.emptyList());
+        when(persistenceServiceRegistry.getDefault()).thenReturn(persistence);
+        when(config.getHistoryMaxPoints()).thenReturn(10);
+        when(config.getHistoryAggregation()).thenReturn(HistoryAggregation.AVERAGE);
+
+        handler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, config);
+    }
+
+    @Test
+    public void testSamplerKeepsValuesUpToMaxPoints() {
+        HistorySampler sampler = new HistorySampler(0, 1000, 10, HistoryAggregation.AVERAGE);
+
+        for (int i = 0; i < 10; i++) {
+            sampler.add(i * 100, i);
+        }
+
+        List<HistoryItem> result = sampler.getResult();
+        assertEquals(10, result.size());
+        assertEquals(300, result.get(3).getDate());
+        assertEquals(3, result.get(3).getValue().intValue());
+    }
+
+    @Test
+    public void testSamplerAveragesBuckets() {
+        HistorySampler sampler = new HistorySampler(0, 1000, 10, HistoryAggregation.AVERAGE);
+
+        for (int i = 0; i < 100; i++) {
+            sampler.add(i * 10, i);
+        }
+
+        List<HistoryItem> result = sampler.getResult();
+        assertEquals(100, sampler.getCount());
+        assertEquals(10, result.size());
+        assertEquals(45, result.get(0).getDate());
+        assertEquals(4.5, result.get(0).getValue().doubleValue(), 0.001);
+        assertEquals(945, result.get(9).getDate());
+        assertEquals(94.5, result.get(9).getValue().doubleValue(), 0.001);
+    }
+
+    @Test
+    public void testSamplerKeepsPeaksWithMinMax() {
+        HistorySampler sampler = new HistorySampler(0, 1000, 10, HistoryAggregation.MINMAX);
+
+        for (int i = 0; i < 100; i++) {
+            sampler.add(i * 10, i == 42 ? 1000 : i % 20);
+        }
+
+        List<HistoryItem> result = sampler.getResult();
+        assertEquals(10, result.size());
+        // The third bucket holds the values from 400 to 590, with its minimum before its peak
+        assertEquals(400, result.get(4).getDate());
+        assertEquals(0, result.get(4).getValue().intValue());
+        assertEquals(420, result.get(5).getDate());
+        assertEquals(1000, result.get(5).getValue().intValue());
+    }
+
+    @Test
+    public void testPeriodIsAlignedToBucketSize() {
+        long start = 1000000;
+
+        handler.handle(mock(HttpServletRequest.class), matcher(start, start + HOUR));
+
+        // Ten buckets of six minutes
+        ArgumentCaptor<FilterCriteria> criteria = ArgumentCaptor.forClass(FilterCriteria.class);
+        verify(persistence).query(criteria.capture());
+        assertEquals(2 * HOUR / 10, criteria.getValue().getBeginDate().getTime());
+        assertEquals(13 * HOUR / 10, criteria.getValue().getEndDate().getTime());
+    }
+
+    @Test
+    public void testRequestsWithinTheSameBucketAreCached() {
+        long start = 1000000;
+
+        handler.handle(mock(HttpServletRequest.class), matcher(start, start + HOUR));
+        handler.handle(mock(HttpServletRequest.class), matcher(start + 5000, start + HOUR + 5000));
+        verify(persistence, times(1)).query(any());
+
+        // The next bucket needs a new query
+        handler.handle(mock(HttpServletRequest.class), matcher(start + HOUR / 10, start + 11 * HOUR / 10));
+        verify(persistence, times(2)).query(any());
+
+        // As does another configuration
+        when(config.getHistoryAggregation()).thenReturn(HistoryAggregation.MINMAX);
+        handler.handle(mock(HttpServletRequest.class), matcher(start, start + HOUR));
+        verify(persistence, times(3)).query(any());
+    }
+
+    private static Matcher matcher(long start, long end) {
+        Matcher matcher = URL_PATTERN.matcher("/devices/device/value/histo/" + start + "/" + end);
+
+        assertTrue(matcher.matches());
+        return matcher;
+    }
+}
@@ -85,6 +85,10 @@ public class ImperiHomeApiServlet extends HttpServlet {
     private DeviceHistoryHandler deviceHistoryHandler;
     private ActionRegistry actionRegistry;
 
+    private final Object deviceListLock = new Object();
+    private String deviceListJson;
+    private long deviceListVersion = -1;
+
     /**
      * Default constructor.
      */
@@ -113,7 +117,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         roomListHandler = new RoomListHandler(deviceRegistry);
         devicesListHandler = new DevicesListHandler(deviceRegistry);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
-        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry, imperiHomeConfig);
 
         try {
             Dictionary<String, String> servletParams = new Hashtable<String, String>();
@@ -152,6 +156,11 @@ public class ImperiHomeApiServlet extends HttpServlet {
         deviceActionHandler = null;
         deviceHistoryHandler = null;
 
+        synchronized (deviceListLock) {
+            deviceListJson = null;
+            deviceListVersion = -1;
+        }
+
         logger.info("ImperiHome integration service stopped");
     }
 
@@ -194,6 +203,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         setHeaders(resp);
 
         Object response = null;
+        String responseJson = null;
 
         Matcher actionMatcher = URL_PATTERN_DEVICE_ACTION.matcher(path);
         Matcher historyMatcher = URL_PATTERN_DEVICE_HISTORY.matcher(path);
@@ -201,7 +211,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         if (URL_PATTERN_ROOMS.matcher(path).matches()) {
             response = roomListHandler.handle(req);
         } else if (URL_PATTERN_DEVICES.matcher(path).matches()) {
-            response = devicesListHandler.handle(req);
+            responseJson = getDeviceListJson(req);
         } else if (actionMatcher.matches()) {
             deviceActionHandler.handle(req, actionMatcher);
         } else if (historyMatcher.matches()) {
@@ -212,7 +222,25 @@ public class ImperiHomeApiServlet extends HttpServlet {
             logger.warn("Unrecognized request: {}", path);
         }
 
-        resp.getWriter().write(gson.toJson(response));
+        resp.getWriter().write(responseJson != null ? responseJson : gson.toJson(response));
+    }
+
+    /**
+     * Returns the serialized device list. The list is only serialized again when the device registry changed since the
+     * previous request, as the ImperiHome app polls it frequently.
+     */
+    private String getDeviceListJson(HttpServletRequest req) {
+        synchronized (deviceListLock) {
+            long version = deviceRegistry.getVersion();
+            if (deviceListJson == null || version != deviceListVersion) {
+                deviceListJson = gson.toJson(devicesListHandler.handle(req));
+                // Use the version read before serializing, so changes made meanwhile invalidate the result
+                deviceListVersion = version;
+            } else {
+                logger.debug("Serving cached device list, version {}", version);
+            }
+            return deviceListJson;
+        }
     }
 
     private void setHeaders(HttpServletResponse response) {
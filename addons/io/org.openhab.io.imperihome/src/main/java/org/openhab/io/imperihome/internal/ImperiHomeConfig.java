@@ -23,8 +23,20 @@ public class ImperiHomeConfig {
 
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
+    private static final int DEFAULT_HISTORY_MAX_POINTS = 500;
+
     private String systemId;
     private String rootUrl;
+    private int historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
+    private HistoryAggregation historyAggregation = HistoryAggregation.AVERAGE;
+
+    /**
+     * Aggregation applied to history values sharing a down-sampling bucket.
+     */
+    public enum HistoryAggregation {
+        AVERAGE,
+        MINMAX
+    }
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -42,6 +54,26 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
+        Object maxPointsObj = config.get("history.maxPoints");
+        if (maxPointsObj != null && !maxPointsObj.toString().isEmpty()) {
+            try {
+                historyMaxPoints = Math.max(0, Integer.parseInt(maxPointsObj.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.maxPoints value, using default: {}", maxPointsObj);
+            }
+        }
+
+        historyAggregation = HistoryAggregation.AVERAGE;
+        Object aggregationObj = config.get("history.aggregation");
+        if (aggregationObj != null && !aggregationObj.toString().isEmpty()) {
+            try {
+                historyAggregation = HistoryAggregation.valueOf(aggregationObj.toString().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid history.aggregation value, using default: {}", aggregationObj);
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -53,4 +85,12 @@ public class ImperiHomeConfig {
         return rootUrl;
     }
 
+    public int getHistoryMaxPoints() {
+        return historyMaxPoints;
+    }
+
+    public HistoryAggregation getHistoryAggregation() {
+        return historyAggregation;
+    }
+
 }
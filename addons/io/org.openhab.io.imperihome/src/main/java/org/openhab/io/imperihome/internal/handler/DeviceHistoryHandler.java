@@ -10,21 +10,26 @@ package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig.HistoryAggregation;
 import org.openhab.io.imperihome.internal.model.HistoryItem;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -33,7 +38,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Device history request handler.
+ * Device history request handler. History values are down-sampled into a limited number of time buckets, as the
+ * ImperiHome app only renders them on a small chart. The requested period is aligned to the bucket size and results
+ * are cached for a short time, so dashboards reloading the same graph don't query persistence again.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -41,14 +48,150 @@ public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
 
+    private static final long CACHE_TIME = 60 * 1000;
+    private static final int CACHE_SIZE = 32;
+
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
+
+    private final Map<String, CachedHistory> cache = new LinkedHashMap<String, CachedHistory>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static class CachedHistory {
+        private final HistoryList history;
+        private final long created;
+
+        private CachedHistory(HistoryList history, long created) {
+            this.history = history;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Min, max and average of the values in a single down-sampling bucket.
+     */
+    private static class Bucket {
+        private long minDate;
+        private double min = Double.POSITIVE_INFINITY;
+        private long maxDate;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private double dateSum;
+        private int count;
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+        private void add(long date, double value) {
+            if (value < min) {
+                min = value;
+                minDate = date;
+            }
+            if (value > max) {
+                max = value;
+                maxDate = date;
+            }
+            sum += value;
+            dateSum += date;
+            count++;
+        }
+    }
+
+    /**
+     * Collects history values and reduces them to at most maxPoints values. The values are kept as they are until
+     * there are more than maxPoints; from then on they are added to equally sized time buckets over the requested
+     * period. Depending on the aggregation each bucket is represented by its average value or by its minimum and
+     * maximum value, the latter taking two points per bucket to keep peaks visible.
+     */
+    static class HistorySampler {
+        private final long start;
+        private final long period;
+        private final int maxPoints;
+        private final HistoryAggregation aggregation;
+
+        private List<HistoryItem> items = new ArrayList<>();
+        private Bucket[] buckets;
+        private int count;
+
+        HistorySampler(long start, long end, int maxPoints, HistoryAggregation aggregation) {
+            this.start = start;
+            this.period = Math.max(1, end - start);
+            this.maxPoints = maxPoints;
+            this.aggregation = aggregation;
+        }
+
+        void add(long date, Number value) {
+            count++;
+            if (buckets == null) {
+                items.add(new HistoryItem(date, value));
+                if (maxPoints > 0 && items.size() > maxPoints) {
+                    buckets = new Bucket[getBucketCount(maxPoints, aggregation)];
+                    for (HistoryItem item : items) {
+                        addToBucket(item.getDate(), item.getValue().doubleValue());
+                    }
+                    items = null;
+                }
+            } else {
+                addToBucket(date, value.doubleValue());
+            }
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        static int getBucketCount(int maxPoints, HistoryAggregation aggregation) {
+            return aggregation == HistoryAggregation.MINMAX ? Math.max(1, maxPoints / 2) : maxPoints;
+        }
+
+        List<HistoryItem> getResult() {
+            if (buckets == null) {
+                return items;
+            }
+
+            List<HistoryItem> result = new ArrayList<>(maxPoints);
+            for (Bucket bucket : buckets) {
+                if (bucket == null) {
+                    continue;
+                }
+                if (aggregation == HistoryAggregation.MINMAX) {
+                    if (bucket.minDate == bucket.maxDate) {
+                        result.add(new HistoryItem(bucket.minDate, bucket.min));
+                    } else if (bucket.minDate < bucket.maxDate) {
+                        result.add(new HistoryItem(bucket.minDate, bucket.min));
+                        result.add(new HistoryItem(bucket.maxDate, bucket.max));
+                    } else {
+                        result.add(new HistoryItem(bucket.maxDate, bucket.max));
+                        result.add(new HistoryItem(bucket.minDate, bucket.min));
+                    }
+                } else {
+                    result.add(new HistoryItem(Math.round(bucket.dateSum / bucket.count), bucket.sum / bucket.count));
+                }
+            }
+            return result;
+        }
+
+        private void addToBucket(long date, double value) {
+            int index = (int) ((date - start) * buckets.length / period);
+            index = Math.max(0, Math.min(buckets.length - 1, index));
+            if (buckets[index] == null) {
+                buckets[index] = new Bucket();
+            }
+            buckets[index].add(date, value);
+        }
+    }
+
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -81,17 +224,45 @@ public class DeviceHistoryHandler {
             return null;
         }
 
-        return serveHistory(device, (QueryablePersistenceService) persistence, start, end);
+        int maxPoints = config.getHistoryMaxPoints();
+        HistoryAggregation aggregation = config.getHistoryAggregation();
+        if (maxPoints > 0 && end > start) {
+            // The app requests periods ending at the current time. Aligning them to the bucket size, in whole
+            // seconds, lets requests within the same bucket share the cached result.
+            long bucketSize = (end - start) / HistorySampler.getBucketCount(maxPoints, aggregation);
+            bucketSize = Math.max(1000, bucketSize - bucketSize % 1000);
+            start = Math.floorDiv(start, bucketSize) * bucketSize;
+            end = Math.floorDiv(end + bucketSize - 1, bucketSize) * bucketSize;
+        }
+        String cacheKey = persistence.getId() + '|' + device.getItemName() + '|' + start + '|' + end + '|' + maxPoints
+                + '|' + aggregation;
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            CachedHistory cached = cache.get(cacheKey);
+            if (cached != null && now - cached.created < CACHE_TIME) {
+                logger.debug("Serving cached history for Item {}", device.getItemName());
+                return cached.history;
+            }
+        }
+
+        HistoryList history = serveHistory(device, (QueryablePersistenceService) persistence, start, end, maxPoints,
+                aggregation);
+
+        synchronized (cache) {
+            cache.put(cacheKey, new CachedHistory(history, now));
+        }
+        return history;
     }
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
-            long end) {
+            long end, int maxPoints, HistoryAggregation aggregation) {
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName()).setBeginDate(new Date(start))
-                .setEndDate(new Date(end));
+                .setEndDate(new Date(end)).setOrdering(Ordering.ASCENDING);
 
-        List<HistoryItem> resultItems = new LinkedList<>();
+        HistorySampler sampler = new HistorySampler(start, end, maxPoints, aggregation);
         Iterable<HistoricItem> historicItems = persistence.query(criteria);
 
         Iterator<HistoricItem> iterator = historicItems.iterator();
@@ -103,16 +274,20 @@ public class DeviceHistoryHandler {
                 State state = historicItem.getState();
                 if (state instanceof DecimalType) {
                     Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp(), value));
+                    sampler.add(historicItem.getTimestamp().getTime(), value);
                 }
             }
 
-            if (resultItems.isEmpty()) {
+            if (sampler.getCount() == 0) {
                 logger.warn(
                         "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
             }
         }
 
+        List<HistoryItem> resultItems = sampler.getResult();
+        if (resultItems.size() < sampler.getCount()) {
+            logger.debug("Down-sampled {} history values to {}", sampler.getCount(), resultItems.size());
+        }
         return new HistoryList(resultItems);
     }
 
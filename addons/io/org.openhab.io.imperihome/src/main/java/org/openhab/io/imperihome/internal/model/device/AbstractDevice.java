@@ -136,7 +136,13 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void addParam(DeviceParam param) {
         logger.trace("Setting param for device {}: {}", this, param);
+        DeviceParam previous = params.get(param.getKey());
         params.set(param);
+
+        DeviceRegistry registry = deviceRegistry;
+        if (registry != null && !param.equals(previous)) {
+            registry.deviceChanged();
+        }
     }
 
     public Map<String, String> getLinks() {
@@ -225,6 +231,12 @@ public abstract class AbstractDevice implements StateChangeListener {
     public void stateUpdated(Item item, State newState) {
         logger.debug("Device item {} state changed to {}", item, newState);
 
+        // Devices may only derive their params from the new state in updateParams(), so always mark them as changed
+        DeviceRegistry registry = deviceRegistry;
+        if (registry != null) {
+            registry.deviceChanged();
+        }
+
         OnOffType onOffState = (OnOffType) item.getStateAs(OnOffType.class);
         if (onOffState != null) {
             boolean isOn = onOffState == OnOffType.ON;
@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openhab.io.imperihome.internal.model.Room;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -22,7 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The device registry stores created devices by ID.
+ * The device registry stores created devices by ID. It keeps a version number which changes whenever a device is added
+ * or removed or the state or parameters of a device change, so serialized device lists can be reused until then.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -31,6 +33,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
     private final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
 
     private final Map<String, AbstractDevice> devices;
+    private final AtomicLong version = new AtomicLong();
     private Set<Room> rooms;
 
     public DeviceRegistry() {
@@ -65,8 +68,10 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
             return;
         }
 
+        device.setDeviceRegistry(this);
         devices.put(device.getId(), device);
         updateRooms();
+        version.incrementAndGet();
 
         logger.debug("Device {} added, registry now contains {} total", device.getName(), devices.size());
     }
@@ -75,11 +80,27 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         AbstractDevice removed = devices.remove(deviceId);
         if (removed != null) {
             updateRooms();
+            version.incrementAndGet();
             logger.debug("Device {} removed, registry now contains {} total", removed.getName(), devices.size());
         }
         return removed;
     }
 
+    /**
+     * Marks the devices as changed, e.g. because an item state was updated or a device parameter got a new value.
+     */
+    public void deviceChanged() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return Version number of the devices, changes on every device addition, removal, state update or parameter
+     *         change.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     @Override
     public Iterator<AbstractDevice> iterator() {
         return devices.values().iterator();
@@ -94,6 +115,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         if (rooms != null) {
             rooms.clear();
         }
+        version.incrementAndGet();
 
         logger.debug("Device registry cleared");
     }
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -68,6 +69,9 @@ public class NeeoDeviceDefinitions {
     /** The file we store definitions in */
     private final File file = new File(NeeoConstants.FILENAME_DEVICEDEFINITIONS);
 
+    /** The version of the definitions, incremented on every change */
+    private final AtomicInteger version = new AtomicInteger();
+
     /**
      * Create the object based on the {@link ServiceContext} and will read the definitions from the {@link #file}
      *
@@ -144,6 +148,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        version.incrementAndGet();
         save();
     }
 
@@ -158,11 +163,22 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            version.incrementAndGet();
             save();
         }
         return found;
     }
 
+    /**
+     * Returns the version of the definitions. The version changes whenever a definition is added, replaced or
+     * removed, allowing callers to cache information derived from the definitions.
+     *
+     * @return the current version
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
     /**
      * Returns a list of {@link NeeoDevice} that have been exposed (where the type isn't {@link NeeoDeviceType#EXCLUDE})
      *
@@ -10,12 +10,14 @@ package org.openhab.io.neeo.internal;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -49,6 +51,9 @@ public class NeeoDeviceKeys {
     /** The brain's url */
     private final String brainUrl;
 
+    /** The version of the keys, incremented on every change */
+    private final AtomicInteger version = new AtomicInteger();
+
     /**
      * Creates the object from the context and brainUrl
      *
@@ -61,7 +66,8 @@ public class NeeoDeviceKeys {
     }
 
     /**
-     * Refreshes the keys from the brain
+     * Refreshes the keys from the brain. The keys are only replaced once the response has been parsed completely, so a
+     * failed refresh keeps the previous keys.
      *
      * @throws IOException Signals that an I/O exception has occurred.
      */
@@ -73,8 +79,7 @@ public class NeeoDeviceKeys {
                 throw resp.createException();
             }
 
-            uidToKey.clear();
-
+            final Map<NeeoThingUID, Set<String>> newKeys = new HashMap<>();
             final JsonParser parser = new JsonParser();
             final JsonObject root = parser.parse(resp.getContent()).getAsJsonObject();
             for (Map.Entry<String, JsonElement> room : root.getAsJsonObject("rooms").entrySet()) {
@@ -94,12 +99,14 @@ public class NeeoDeviceKeys {
                     }
 
                     if (thingUID != null) {
-                        final Set<String> newMap = ConcurrentHashMap.newKeySet();
-                        final Set<String> uidKeys = uidToKey.putIfAbsent(thingUID, newMap);
-                        (uidKeys == null ? newMap : uidKeys).add(key);
+                        newKeys.computeIfAbsent(thingUID, k -> ConcurrentHashMap.newKeySet()).add(key);
                     }
                 }
             }
+
+            uidToKey.keySet().retainAll(newKeys.keySet());
+            uidToKey.putAll(newKeys);
+            version.incrementAndGet();
         }
     }
 
@@ -116,6 +123,7 @@ public class NeeoDeviceKeys {
         final Set<String> newMap = ConcurrentHashMap.newKeySet();
         final Set<String> uidKeys = uidToKey.putIfAbsent(uid, newMap);
         (uidKeys == null ? newMap : uidKeys).add(key);
+        version.incrementAndGet();
     }
 
     /**
@@ -128,9 +136,22 @@ public class NeeoDeviceKeys {
         Objects.requireNonNull(uid, "uid cannot be null");
 
         final Set<String> keys = uidToKey.remove(uid);
+        if (keys != null) {
+            version.incrementAndGet();
+        }
         return keys != null;
     }
 
+    /**
+     * Returns the version of the keys. The version changes whenever keys are added, removed or refreshed, allowing
+     * callers to cache information derived from the keys.
+     *
+     * @return the current version
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
     /**
      * Gets the keys for the given uid
      *
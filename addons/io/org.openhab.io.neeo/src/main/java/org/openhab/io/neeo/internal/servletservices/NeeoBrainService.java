@@ -39,11 +39,9 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.neeo.internal.NeeoApi;
 import org.openhab.io.neeo.internal.NeeoConstants;
-import org.openhab.io.neeo.internal.NeeoDeviceKeys;
 import org.openhab.io.neeo.internal.NeeoItemValueConverter;
 import org.openhab.io.neeo.internal.NeeoUtil;
 import org.openhab.io.neeo.internal.ServiceContext;
-import org.openhab.io.neeo.internal.models.ButtonInfo;
 import org.openhab.io.neeo.internal.models.NeeoButtonGroup;
 import org.openhab.io.neeo.internal.models.NeeoCapabilityType;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
@@ -95,6 +93,12 @@ public class NeeoBrainService extends DefaultServletService {
     /** The {@link NeeoItemValueConverter} used to convert values with */
     private final NeeoItemValueConverter itemConverter;
 
+    /** The routing table of item names to bound channels and device keys */
+    private final NeeoItemRoutes routes;
+
+    /** The sender used to batch notifications to the brain */
+    private final NeeoNotificationSender notificationSender;
+
     private final PropertyChangeListener listener = new PropertyChangeListener() {
         @Override
         public void propertyChange(@Nullable PropertyChangeEvent evt) {
@@ -117,6 +121,8 @@ public class NeeoBrainService extends DefaultServletService {
         this.context = context;
         this.itemConverter = new NeeoItemValueConverter(context);
         this.api = api;
+        this.routes = new NeeoItemRoutes(context.getDefinitions(), api.getDeviceKeys());
+        this.notificationSender = new NeeoNotificationSender(api, scheduler);
         this.api.addPropertyChangeListener(NeeoApi.CONNECTED, listener);
         scheduler.execute(() -> {
             resendState();
@@ -434,9 +440,8 @@ public class NeeoBrainService extends DefaultServletService {
                 final ItemStateChangedEvent ise = (ItemStateChangedEvent) event;
                 final String itemName = ise.getItemName();
 
-                final NeeoDeviceKeys keys = api.getDeviceKeys();
-                final boolean isBound = context.getDefinitions().isBound(keys, itemName);
-                logger.trace("Apply Event: {} --- {} --- {} = {}", event, itemName, isBound, keys);
+                final boolean isBound = routes.isBound(itemName);
+                logger.trace("Apply Event: {} --- {} --- {}", event, itemName, isBound);
                 return isBound;
             }
 
@@ -476,9 +481,10 @@ public class NeeoBrainService extends DefaultServletService {
 
             try {
                 final State state = context.getItemRegistry().getItem(channel.getItemName()).getState();
+                final NeeoItemValue niv = itemConverter.convert(channel, state);
 
                 for (String deviceKey : api.getDeviceKeys().get(device.getUid())) {
-                    sendNotification(channel, deviceKey, state);
+                    sendNotification(channel, deviceKey, niv);
                 }
             } catch (ItemNotFoundException e) {
                 logger.debug("Item not found {}", channel.getItemName());
@@ -498,83 +504,77 @@ public class NeeoBrainService extends DefaultServletService {
 
         logger.trace("notifyState: {} --- {}", itemName, state);
 
-        for (final Entry<NeeoDevice, NeeoDeviceChannel> boundEntry : context.getDefinitions()
-                .getBound(api.getDeviceKeys(), itemName)) {
-            final NeeoDevice device = boundEntry.getKey();
-            final NeeoDeviceChannel channel = boundEntry.getValue();
-            final NeeoThingUID uid = new NeeoThingUID(device.getUid());
-
-            logger.trace("notifyState (device): {} --- {} ", uid, channel);
-            for (String deviceKey : api.getDeviceKeys().get(uid)) {
-                logger.trace("notifyState (key): {} --- {}", uid, deviceKey);
+        for (final NeeoItemRoutes.Route route : routes.get(itemName)) {
+            final NeeoDeviceChannel channel = route.getChannel();
+            final NeeoItemValue niv = itemConverter.convert(channel, state);
 
-                if (state instanceof OnOffType) {
-                    Boolean recipeState = null;
-                    final String label = channel.getLabel();
-                    if (StringUtils.equalsIgnoreCase(NeeoButtonGroup.POWERONOFF.getText(), label)) {
+            Boolean recipeState = null;
+            if (state instanceof OnOffType) {
+                switch (route.getPowerButton()) {
+                    case POWERONOFF:
                         recipeState = state == OnOffType.ON;
-                    } else if (state == OnOffType.ON
-                            && StringUtils.equalsIgnoreCase(ButtonInfo.POWERON.getLabel(), label)) {
-                        recipeState = true;
-                    } else if (state == OnOffType.OFF
-                            && StringUtils.equalsIgnoreCase(ButtonInfo.POWEROFF.getLabel(), label)) {
-                        recipeState = false;
-                    }
+                        break;
+                    case POWERON:
+                        if (state == OnOffType.ON) {
+                            recipeState = true;
+                        }
+                        break;
+                    case POWEROFF:
+                        if (state == OnOffType.OFF) {
+                            recipeState = false;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
 
-                    if (recipeState != null) {
-                        logger.trace("notifyState (executeRecipe): {} --- {} --- {}", uid, deviceKey, recipeState);
-                        final boolean turnOn = recipeState;
-                        scheduler.submit(() -> {
-                            try {
-                                api.executeRecipe(deviceKey, turnOn);
-                            } catch (IOException e) {
-                                logger.debug("Exception occurred while handling executing a recipe: {}", e.getMessage(),
-                                        e);
-                            }
-                        });
-                    }
+            logger.trace("notifyState (channel): {} --- {} ", itemName, channel);
+            for (String deviceKey : route.getDeviceKeys()) {
+                logger.trace("notifyState (key): {} --- {}", itemName, deviceKey);
+
+                if (recipeState != null) {
+                    logger.trace("notifyState (executeRecipe): {} --- {} --- {}", itemName, deviceKey, recipeState);
+                    final boolean turnOn = recipeState;
+                    scheduler.submit(() -> {
+                        try {
+                            api.executeRecipe(deviceKey, turnOn);
+                        } catch (IOException e) {
+                            logger.debug("Exception occurred while handling executing a recipe: {}", e.getMessage(),
+                                    e);
+                        }
+                    });
                 }
 
-                sendNotification(channel, deviceKey, state);
+                sendNotification(channel, deviceKey, niv);
             }
         }
     }
 
     /**
-     * Helper method to send a notification
+     * Helper method to send a notification. The notification is queued on the {@link #notificationSender} and
+     * replaces any pending notification for the same device key and channel.
      *
      * @param channel a non-null channel
      * @param deviceKey a non-null, non-empty device id
-     * @param state a non-null state
+     * @param niv a non-null item value
      */
-    private void sendNotification(NeeoDeviceChannel channel, String deviceKey, State state) {
+    private void sendNotification(NeeoDeviceChannel channel, String deviceKey, NeeoItemValue niv) {
         Objects.requireNonNull(channel, "channel cannot be null");
         NeeoUtil.requireNotEmpty(deviceKey, "deviceKey cannot be empty");
-        Objects.requireNonNull(state, "state cannot be null");
+        Objects.requireNonNull(niv, "niv cannot be null");
 
-        scheduler.execute(() -> {
-            final String uin = channel.getUniqueItemName();
-
-            final NeeoItemValue niv = itemConverter.convert(channel, state);
+        final String uin = channel.getUniqueItemName();
 
-            // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
-            if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
-                    && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
-                final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            } else {
-                final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            }
-        });
+        // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
+        final String json;
+        if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
+                && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
+            json = gson.toJson(new NeeoSensorNotification(deviceKey, uin, niv.getValue()));
+        } else {
+            json = gson.toJson(new NeeoNotification(deviceKey, uin, niv.getValue()));
+        }
+        notificationSender.send(deviceKey + ":" + uin, json);
     }
 
     /**
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.neeo.internal.servletservices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.neeo.internal.NeeoDeviceDefinitions;
+import org.openhab.io.neeo.internal.NeeoDeviceKeys;
+import org.openhab.io.neeo.internal.models.ButtonInfo;
+import org.openhab.io.neeo.internal.models.NeeoButtonGroup;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoDeviceChannel;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+
+/**
+ * A routing table from item names to the bound channels and NEEO device keys that need to be notified when the item
+ * state changes. The table is derived from the {@link NeeoDeviceDefinitions} and {@link NeeoDeviceKeys} and only
+ * rebuilt when either of them change, so handling a state change is a single lookup.
+ *
+ * @author agent - Initial Contribution
+ */
+@NonNullByDefault
+class NeeoItemRoutes {
+
+    /** The kind of power button a channel represents (to start/stop the related recipe) */
+    enum PowerButton {
+        NONE,
+        POWERONOFF,
+        POWERON,
+        POWEROFF
+    }
+
+    /**
+     * A single route of an item to a bound channel and the device keys of that channel's device
+     */
+    static class Route {
+        private final NeeoDeviceChannel channel;
+        private final Set<String> deviceKeys;
+        private final PowerButton powerButton;
+
+        private Route(NeeoDeviceChannel channel, Set<String> deviceKeys) {
+            this.channel = channel;
+            this.deviceKeys = deviceKeys;
+
+            final String label = channel.getLabel();
+            if (StringUtils.equalsIgnoreCase(NeeoButtonGroup.POWERONOFF.getText(), label)) {
+                powerButton = PowerButton.POWERONOFF;
+            } else if (StringUtils.equalsIgnoreCase(ButtonInfo.POWERON.getLabel(), label)) {
+                powerButton = PowerButton.POWERON;
+            } else if (StringUtils.equalsIgnoreCase(ButtonInfo.POWEROFF.getLabel(), label)) {
+                powerButton = PowerButton.POWEROFF;
+            } else {
+                powerButton = PowerButton.NONE;
+            }
+        }
+
+        NeeoDeviceChannel getChannel() {
+            return channel;
+        }
+
+        Set<String> getDeviceKeys() {
+            return deviceKeys;
+        }
+
+        PowerButton getPowerButton() {
+            return powerButton;
+        }
+    }
+
+    /** The definitions the routes are derived from */
+    private final NeeoDeviceDefinitions definitions;
+
+    /** The device keys the routes are derived from */
+    private final NeeoDeviceKeys keys;
+
+    /** The routes by lower case item name */
+    private volatile Map<String, List<Route>> routes = Collections.emptyMap();
+
+    /** The definitions version the routes were built from */
+    private int definitionsVersion = -1;
+
+    /** The keys version the routes were built from */
+    private int keysVersion = -1;
+
+    /**
+     * Creates the routing table for the given definitions and keys
+     *
+     * @param definitions the non-null definitions
+     * @param keys the non-null device keys
+     */
+    NeeoItemRoutes(NeeoDeviceDefinitions definitions, NeeoDeviceKeys keys) {
+        Objects.requireNonNull(definitions, "definitions cannot be null");
+        Objects.requireNonNull(keys, "keys cannot be null");
+
+        this.definitions = definitions;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns the routes for the given item name
+     *
+     * @param itemName the non-empty item name
+     * @return a non-null, possibly empty list of routes
+     */
+    List<Route> get(String itemName) {
+        final List<Route> itemRoutes = getRoutes().get(itemName.toLowerCase(Locale.ROOT));
+        return itemRoutes == null ? Collections.emptyList() : itemRoutes;
+    }
+
+    /**
+     * Returns true if the given item name is bound to any channel of a device with a device key
+     *
+     * @param itemName the non-empty item name
+     * @return true if bound, false otherwise
+     */
+    boolean isBound(String itemName) {
+        return getRoutes().containsKey(itemName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the current routes, rebuilding them if the definitions or keys changed
+     *
+     * @return the non-null routes
+     */
+    private Map<String, List<Route>> getRoutes() {
+        final int currentDefinitionsVersion = definitions.getVersion();
+        final int currentKeysVersion = keys.getVersion();
+        synchronized (this) {
+            if (currentDefinitionsVersion != definitionsVersion || currentKeysVersion != keysVersion) {
+                routes = build();
+                definitionsVersion = currentDefinitionsVersion;
+                keysVersion = currentKeysVersion;
+            }
+            return routes;
+        }
+    }
+
+    /**
+     * Builds the routes from the bound channels
+     *
+     * @return the non-null routes
+     */
+    private Map<String, List<Route>> build() {
+        final Map<String, List<Route>> newRoutes = new HashMap<>();
+        final Map<NeeoThingUID, Set<String>> deviceKeys = new HashMap<>();
+        for (final Entry<NeeoDevice, NeeoDeviceChannel> boundEntry : definitions.getBound(keys)) {
+            final NeeoThingUID uid = new NeeoThingUID(boundEntry.getKey().getUid());
+            final Set<String> uidKeys = deviceKeys.computeIfAbsent(uid, k -> keys.get(k));
+            final NeeoDeviceChannel channel = boundEntry.getValue();
+            final String itemName = channel.getItemName();
+            if (StringUtils.isNotEmpty(itemName)) {
+                newRoutes.computeIfAbsent(itemName.toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                        .add(new Route(channel, uidKeys));
+            }
+        }
+        return newRoutes;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.neeo.internal.servletservices;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.neeo.internal.NeeoApi;
+import org.openhab.io.neeo.internal.NeeoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends notifications to the NEEO Brain in batches. Notifications are queued per notification type (device key and
+ * item) where a newer notification replaces a pending one of the same type. A single task on the scheduler sends all
+ * pending notifications, so frequently changing items neither flood the scheduler nor the brain.
+ *
+ * @author agent - Initial Contribution
+ */
+@NonNullByDefault
+class NeeoNotificationSender {
+
+    /** The logger */
+    private final Logger logger = LoggerFactory.getLogger(NeeoNotificationSender.class);
+
+    /** The NEEO API to send notifications with */
+    private final NeeoApi api;
+
+    /** The scheduler to run the send task on */
+    private final ScheduledExecutorService scheduler;
+
+    /** The pending notifications (serialized json) by notification type */
+    private final Map<String, String> pending = new LinkedHashMap<>();
+
+    /** Whether a send task has been scheduled and not yet picked up the pending notifications */
+    private boolean scheduled;
+
+    /**
+     * Creates the sender from the {@link NeeoApi} and scheduler
+     *
+     * @param api the non-null api
+     * @param scheduler the non-null scheduler
+     */
+    NeeoNotificationSender(NeeoApi api, ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(api, "api cannot be null");
+        Objects.requireNonNull(scheduler, "scheduler cannot be null");
+
+        this.api = api;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues a notification, replacing any pending notification of the same type
+     *
+     * @param type the non-empty notification type
+     * @param json the non-empty serialized notification
+     */
+    void send(String type, String json) {
+        NeeoUtil.requireNotEmpty(type, "type cannot be empty");
+        NeeoUtil.requireNotEmpty(json, "json cannot be empty");
+
+        synchronized (pending) {
+            // remove first so the notification moves to the end of the queue
+            pending.remove(type);
+            pending.put(type, json);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        scheduler.execute(this::sendPending);
+    }
+
+    /**
+     * Sends all pending notifications
+     */
+    private void sendPending() {
+        final List<String> notifications;
+        synchronized (pending) {
+            notifications = new ArrayList<>(pending.values());
+            pending.clear();
+            scheduled = false;
+        }
+
+        logger.trace("Sending {} notifications to the brain", notifications.size());
+        for (String json : notifications) {
+            try {
+                api.notify(json);
+            } catch (IOException e) {
+                logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
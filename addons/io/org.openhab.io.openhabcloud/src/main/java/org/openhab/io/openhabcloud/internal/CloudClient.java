@@ -9,6 +9,7 @@
 package org.openhab.io.openhabcloud.internal;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -27,7 +28,7 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -36,6 +37,7 @@ import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -79,6 +81,18 @@ public class CloudClient {
      */
     private static final int HTTP_CLIENT_TIMEOUT = 30000;
 
+    /*
+     * This constant defines how many bytes of response content may be handed to Socket.IO
+     * without being written to the openHAB Cloud before local requests are held back
+     */
+    private static final int PROXY_HIGH_WATERMARK = 512 * 1024;
+
+    /*
+     * The Engine.IO socket of a Socket.IO manager, which reports when all buffered packets are written. The
+     * Socket.IO client does not expose it, so it is looked up once.
+     */
+    private static final Field ENGINE_FIELD = getEngineField();
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -135,6 +149,11 @@ public class CloudClient {
      * certain events from the openHAB Cloud back to openHAB
      */
     private CloudClientListener listener;
+
+    /*
+     * This variable holds the back-pressure between proxied local requests and the Socket.IO connection
+     */
+    private final ProxyFlowControl flowControl = new ProxyFlowControl(PROXY_HIGH_WATERMARK);
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
@@ -180,6 +199,17 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.trace("Manager.EVENT_TRANSPORT");
                 Transport transport = (Transport) args[0];
+                if (ENGINE_FIELD == null) {
+                    // Without the Engine.IO socket, fall back to the drain of the transport, which may still have
+                    // packets buffered in the Engine.IO socket
+                    transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                        @Override
+                        public void call(Object... args) {
+                            logger.trace("Transport.EVENT_DRAIN");
+                            flowControl.drained();
+                        }
+                    });
+                }
                 transport.on(Transport.EVENT_REQUEST_HEADERS, new Emitter.Listener() {
                     @Override
                     public void call(Object... args) {
@@ -195,6 +225,23 @@ public class CloudClient {
                 });
             }
         });
+        socket.io().on(Manager.EVENT_OPEN, new Emitter.Listener() {
+            @Override
+            public void call(Object... args) {
+                logger.trace("Manager.EVENT_OPEN");
+                // A new Engine.IO socket is created for every connection attempt
+                io.socket.engineio.client.Socket engine = getEngine(socket.io());
+                if (engine != null) {
+                    engine.on(io.socket.engineio.client.Socket.EVENT_DRAIN, new Emitter.Listener() {
+                        @Override
+                        public void call(Object... args) {
+                            logger.trace("Engine EVENT_DRAIN");
+                            flowControl.drained();
+                        }
+                    });
+                }
+            }
+        });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
             @Override
             public void call(Object... args) {
@@ -234,6 +281,25 @@ public class CloudClient {
         socket.connect();
     }
 
+    private static Field getEngineField() {
+        try {
+            Field field = Manager.class.getDeclaredField("engine");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private io.socket.engineio.client.Socket getEngine(Manager manager) {
+        try {
+            return (io.socket.engineio.client.Socket) ENGINE_FIELD.get(manager);
+        } catch (IllegalAccessException | ClassCastException e) {
+            logger.debug("Could not get the Engine.IO socket: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Callback method for socket.io client which is called when connection is established
      */
@@ -259,6 +325,8 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
+        // Release requests waiting for the transport to be drained
+        flowControl.reset();
         // On disconnect stop jetty client to shutdown all ongoing requests if there were any
         if (jettyClient != null) {
             try {
@@ -361,7 +429,8 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -503,22 +572,21 @@ public class CloudClient {
      *
      * @param itemName the name of the item
      * @param itemState updated item state
-     *
+     * @return true if the update was handed over to the connection
+     * @throws JSONException if the update can't be serialized, sending it again will fail as well
      */
-    public void sendItemUpdate(String itemName, String itemState) {
+    public boolean sendItemUpdate(String itemName, String itemState) throws JSONException {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.error("{}", e.getMessage());
-            }
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            socket.emit("itemupdate", itemUpdateMessage);
+            return true;
         } else {
             logger.debug("No connection, Item update is not sent");
         }
+        return false;
     }
 
     /**
@@ -557,7 +625,7 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
         private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
@@ -627,16 +695,25 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
             JSONObject responseJson = new JSONObject();
             try {
+                // Socket.IO sends byte arrays as binary attachments and keeps them until they are written,
+                // so the content is copied once and Jetty is only released once the transport can keep up
+                byte[] body = BufferUtil.toArray(content);
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
+                // Count the content before emitting it, as the transport may drain before emit returns
+                boolean proceed = flowControl.emitting(body.length, callback);
                 socket.emit("responseContentBinary", responseJson);
                 logger.debug("Sent content to request {}", mRequestId);
+                if (proceed) {
+                    callback.succeeded();
+                }
             } catch (JSONException e) {
                 logger.error("{}", e.getMessage());
+                callback.failed(e);
             }
         }
 
@@ -42,6 +42,7 @@ import org.eclipse.smarthome.core.net.HttpServiceUtil;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.model.script.engine.action.ActionService;
+import org.json.JSONException;
 import org.openhab.core.OpenHAB;
 import org.openhab.io.openhabcloud.NotificationAction;
 import org.osgi.framework.BundleContext;
@@ -60,13 +61,18 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_UPDATE_INTERVAL = "updateInterval";
+    private static final String CFG_UPDATE_BACKLOG = "updateBacklog";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
+    private static final long DEFAULT_UPDATE_INTERVAL = 1000;
+    private static final int DEFAULT_UPDATE_BACKLOG = 1000;
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
 
     public static String clientVersion = null;
     private CloudClient cloudClient;
+    private ItemUpdateBuffer itemUpdateBuffer;
     private String cloudBaseUrl = null;
     protected ItemRegistry itemRegistry = null;
     protected EventPublisher eventPublisher = null;
@@ -149,6 +155,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     protected void deactivate() {
         logger.debug("openHAB Cloud connector deactivated");
+        if (itemUpdateBuffer != null) {
+            itemUpdateBuffer.shutdown();
+        }
         cloudClient.shutdown();
     }
 
@@ -186,6 +195,19 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
+        long updateInterval = DEFAULT_UPDATE_INTERVAL;
+        if (config.get(CFG_UPDATE_INTERVAL) != null) {
+            updateInterval = Long.parseLong(config.get(CFG_UPDATE_INTERVAL).toString());
+        }
+        int updateBacklog = DEFAULT_UPDATE_BACKLOG;
+        if (config.get(CFG_UPDATE_BACKLOG) != null) {
+            updateBacklog = Integer.parseInt(config.get(CFG_UPDATE_BACKLOG).toString());
+        }
+
+        if (itemUpdateBuffer != null) {
+            itemUpdateBuffer.shutdown();
+            itemUpdateBuffer = null;
+        }
         if (cloudClient != null) {
             cloudClient.shutdown();
         }
@@ -196,6 +218,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
+        if (updateInterval > 0) {
+            itemUpdateBuffer = new ItemUpdateBuffer(cloudClient, updateInterval, Math.max(1, updateBacklog));
+        }
         NotificationAction.cloudService = this;
     }
 
@@ -334,7 +359,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     public void receive(Event event) {
         ItemStateEvent ise = (ItemStateEvent) event;
         if (exposedItems != null && exposedItems.contains(ise.getItemName())) {
-            cloudClient.sendItemUpdate(ise.getItemName(), ise.getItemState().toString());
+            ItemUpdateBuffer buffer = itemUpdateBuffer;
+            if (buffer != null) {
+                buffer.add(ise.getItemName(), ise.getItemState().toString());
+            } else {
+                try {
+                    cloudClient.sendItemUpdate(ise.getItemName(), ise.getItemState().toString());
+                } catch (JSONException e) {
+                    logger.error("{}", e.getMessage());
+                }
+            }
         }
     }
 
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class buffers item updates which are sent to the openHAB Cloud. Only the latest state of
+ * each item is kept and the buffer is flushed periodically, so items which update frequently do
+ * not produce a message per update. Updates which do not change the last sent state of an item are
+ * dropped. While the connection to the openHAB Cloud is down, updates are kept in a bounded backlog
+ * and sent after reconnecting.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateBuffer {
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBuffer.class);
+
+    private final CloudClient cloudClient;
+    private final int maxBacklog;
+
+    /*
+     * Latest not yet sent state per item, in the order of their first update
+     */
+    private final LinkedHashMap<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    /*
+     * Last state sent to the openHAB Cloud per item
+     */
+    private final Map<String, String> sentStates = new HashMap<>();
+
+    private ScheduledFuture<?> flushJob;
+
+    private long sentCount;
+    private long coalescedCount;
+    private long unchangedCount;
+    private long droppedCount;
+
+    /**
+     * Constructor of ItemUpdateBuffer
+     *
+     * @param cloudClient the client used to send the updates
+     * @param flushInterval interval in milliseconds in which buffered updates are sent
+     * @param maxBacklog maximum number of items with pending updates, oldest updates are dropped beyond
+     */
+    public ItemUpdateBuffer(CloudClient cloudClient, long flushInterval, int maxBacklog) {
+        this.cloudClient = cloudClient;
+        this.maxBacklog = maxBacklog;
+        flushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).scheduleWithFixedDelay(this::flush,
+                flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an item update to the buffer
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public synchronized void add(String itemName, String itemState) {
+        if (!pendingUpdates.containsKey(itemName)) {
+            if (itemState.equals(sentStates.get(itemName))) {
+                unchangedCount++;
+                return;
+            }
+            if (pendingUpdates.size() >= maxBacklog) {
+                Iterator<String> oldest = pendingUpdates.keySet().iterator();
+                logger.debug("Item update backlog is full, dropping update for item '{}'", oldest.next());
+                oldest.remove();
+                droppedCount++;
+            }
+        } else {
+            coalescedCount++;
+        }
+        pendingUpdates.put(itemName, itemState);
+    }
+
+    /**
+     * Sends all buffered updates to the openHAB Cloud, if connected. Sending stops at the first failed update,
+     * the updates not sent are kept for the next flush. Updates which can't be serialized are dropped, as they would
+     * fail again and block all other updates.
+     */
+    public void flush() {
+        if (!cloudClient.isConnected()) {
+            return;
+        }
+        Map<String, String> updates;
+        synchronized (this) {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            updates = new LinkedHashMap<>(pendingUpdates);
+            pendingUpdates.clear();
+        }
+        int sent = 0;
+        Iterator<Map.Entry<String, String>> iterator = updates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> update = iterator.next();
+            boolean success;
+            try {
+                success = cloudClient.sendItemUpdate(update.getKey(), update.getValue());
+            } catch (JSONException e) {
+                logger.warn("Dropping update '{}' for item '{}' which can't be sent: {}", update.getValue(),
+                        update.getKey(), e.getMessage());
+                iterator.remove();
+                synchronized (this) {
+                    droppedCount++;
+                }
+                continue;
+            } catch (RuntimeException e) {
+                logger.warn("Sending item updates failed: {}", e.getMessage());
+                success = false;
+            }
+            if (!success) {
+                break;
+            }
+            iterator.remove();
+            sent++;
+            synchronized (this) {
+                sentStates.put(update.getKey(), update.getValue());
+                sentCount++;
+            }
+        }
+        if (!updates.isEmpty()) {
+            requeue(updates);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Sent {} item updates, {} kept (total sent: {}, coalesced: {}, unchanged: {}, dropped: {})",
+                    sent, updates.size(), getSentCount(), getCoalescedCount(), getUnchangedCount(), getDroppedCount());
+        }
+    }
+
+    /**
+     * Stops flushing and discards the buffered updates
+     */
+    public synchronized void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingUpdates.clear();
+    }
+
+    /*
+     * Puts updates which could not be sent back in front of the buffer. Updates of items which got a newer update in
+     * the meantime are discarded.
+     */
+    private synchronized void requeue(Map<String, String> updates) {
+        if (flushJob == null) {
+            return;
+        }
+        LinkedHashMap<String, String> newer = new LinkedHashMap<>(pendingUpdates);
+        pendingUpdates.clear();
+        for (Map.Entry<String, String> update : updates.entrySet()) {
+            if (newer.containsKey(update.getKey())) {
+                coalescedCount++;
+            } else {
+                pendingUpdates.put(update.getKey(), update.getValue());
+            }
+        }
+        pendingUpdates.putAll(newer);
+
+        Iterator<String> oldest = pendingUpdates.keySet().iterator();
+        while (pendingUpdates.size() > maxBacklog) {
+            logger.debug("Item update backlog is full, dropping update for item '{}'", oldest.next());
+            oldest.remove();
+            droppedCount++;
+        }
+    }
+
+    /**
+     * Returns the number of updates sent to the openHAB Cloud
+     */
+    public synchronized long getSentCount() {
+        return sentCount;
+    }
+
+    /**
+     * Returns the number of updates replaced by a newer update of the same item before being sent
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the number of updates not sent because the state did not change
+     */
+    public synchronized long getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Returns the number of updates dropped because the backlog was full or because they could not be serialized
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * This class applies back-pressure from the Socket.IO connection to the local Jetty requests
+ * proxied through the openHAB Cloud. Response content handed to Socket.IO is counted until the
+ * Engine.IO socket reports that its write buffer is drained. Beyond a high watermark the Jetty content
+ * callbacks are held back, so Jetty stops reading from the local openHAB until the data has
+ * actually been written to the openHAB Cloud.
+ *
+ * @author agent - Initial contribution
+ */
+class ProxyFlowControl {
+
+    private final long highWatermark;
+
+    /*
+     * Number of bytes emitted since the transport was drained the last time
+     */
+    private long pendingBytes;
+
+    /*
+     * Jetty callbacks waiting for the transport to drain
+     */
+    private final Deque<Callback> waitingCallbacks = new ArrayDeque<>();
+
+    /**
+     * Constructor of ProxyFlowControl
+     *
+     * @param highWatermark number of emitted but not yet written bytes above which Jetty is held back
+     */
+    ProxyFlowControl(long highWatermark) {
+        this.highWatermark = highWatermark;
+    }
+
+    /**
+     * Records content about to be handed to Socket.IO. Must be called before the content is emitted, so
+     * a drain of the transport in between releases the callback.
+     *
+     * @param bytes number of bytes to emit
+     * @param callback the Jetty content callback
+     * @return true if the caller completes the callback once the content is emitted, false if it is
+     *         held back until the transport is drained
+     */
+    synchronized boolean emitting(int bytes, Callback callback) {
+        pendingBytes += bytes;
+        if (pendingBytes > highWatermark) {
+            waitingCallbacks.add(callback);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Called when the Engine.IO socket has written all buffered packets
+     */
+    void drained() {
+        List<Callback> callbacks;
+        synchronized (this) {
+            pendingBytes = 0;
+            callbacks = new ArrayList<>(waitingCallbacks);
+            waitingCallbacks.clear();
+        }
+        callbacks.forEach(Callback::succeeded);
+    }
+
+    /**
+     * Fails all held back callbacks, e.g. because the connection to the openHAB Cloud is lost
+     */
+    void reset() {
+        List<Callback> callbacks;
+        synchronized (this) {
+            pendingBytes = 0;
+            callbacks = new ArrayList<>(waitingCallbacks);
+            waitingCallbacks.clear();
+        }
+        IOException failure = new IOException("Connection to the openHAB Cloud lost");
+        callbacks.forEach(callback -> callback.failed(failure));
+    }
+
+    /**
+     * Returns the number of Jetty callbacks currently held back
+     */
+    synchronized int getWaitingCount() {
+        return waitingCallbacks.size();
+    }
+}